@@ -105,6 +105,7 @@ public class Main {
                     dynamodb.getHotelsTableArn(),
                     dynamodb.getRoomsTableArn(),
                     dynamodb.getCustomersTableArn(),
+                    dynamodb.getCustomerPaymentsTableArn(),
                     dynamodb.getBookingsTableArn()
                 ),
                 List.of(
@@ -133,6 +134,7 @@ public class Main {
             ctx.export("dynamoDbHotelsTableName", dynamodb.getHotelsTableName());
             ctx.export("dynamoDbRoomsTableName", dynamodb.getRoomsTableName());
             ctx.export("dynamoDbCustomersTableName", dynamodb.getCustomersTableName());
+            ctx.export("dynamoDbCustomerPaymentsTableName", dynamodb.getCustomerPaymentsTableName());
             ctx.export("dynamoDbBookingsTableName", dynamodb.getBookingsTableName());
             
             // RDS outputs
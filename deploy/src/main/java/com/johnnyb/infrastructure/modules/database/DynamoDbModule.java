@@ -20,6 +20,7 @@ public class DynamoDbModule {
     private Table hotelsTable;
     private Table roomsTable;
     private Table customersTable;
+    private Table customerPaymentsTable;
     private Table bookingsTable;
 
     /**
@@ -37,6 +38,7 @@ public class DynamoDbModule {
         createHotelsTable();
         createRoomsTable();
         createCustomersTable();
+        createCustomerPaymentsTable();
         createBookingsTable();
     }
 
@@ -145,6 +147,30 @@ public class DynamoDbModule {
             .build());
     }
 
+    /**
+     * Create Customer Payments table (card details, kept out of the customer items)
+     */
+    private void createCustomerPaymentsTable() {
+        this.customerPaymentsTable = new Table(name + "-customer-payments", TableArgs.builder()
+            .name(name + "-customer-payments")
+            .billingMode(billingMode)
+            .hashKey("customerId")
+            .attributes(
+                TableAttributeArgs.builder()
+                    .name("customerId")
+                    .type("S")
+                    .build()
+            )
+            .pointInTimeRecovery(builder -> builder.enabled(environment.equals("prod")))
+            .tags(Map.of(
+                "Name", name + "-customer-payments",
+                "Environment", environment,
+                "ManagedBy", "Pulumi",
+                "Purpose", "Customer payment data storage"
+            ))
+            .build());
+    }
+
     /**
      * Create Bookings table
      */
@@ -208,6 +234,10 @@ public class DynamoDbModule {
         return customersTable;
     }
 
+    public Table getCustomerPaymentsTable() {
+        return customerPaymentsTable;
+    }
+
     public Table getBookingsTable() {
         return bookingsTable;
     }
@@ -224,6 +254,10 @@ public class DynamoDbModule {
         return customersTable.name();
     }
 
+    public Output<String> getCustomerPaymentsTableName() {
+        return customerPaymentsTable.name();
+    }
+
     public Output<String> getBookingsTableName() {
         return bookingsTable.name();
     }
@@ -240,6 +274,10 @@ public class DynamoDbModule {
         return customersTable.arn();
     }
 
+    public Output<String> getCustomerPaymentsTableArn() {
+        return customerPaymentsTable.arn();
+    }
+
     public Output<String> getBookingsTableArn() {
         return bookingsTable.arn();
     }
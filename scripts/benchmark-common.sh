@@ -0,0 +1,52 @@
+#!/bin/bash
+# Shared helpers for the startup scripts; source, don't run.
+
+PORT=${PORT:-8080}
+STARTUP_TIMEOUT=${STARTUP_TIMEOUT:-120}
+BASE_URL="http://127.0.0.1:${PORT}"
+QUERY='{"query":"{ hotels { id name city } }"}'
+
+# Anonymous catalogue queries and no response cache, so every request reaches DynamoDB
+export QUARKUS_HTTP_PORT=$PORT
+export QUARKUS_HTTP_AUTH_PERMISSION_AUTHENTICATED_POLICY=permit
+export CATALOGUE_CACHE_ENABLED=false
+
+JAR=target/quarkus-app/quarkus-run.jar
+NATIVE_RUNNER=target/otel-motel-1.0-SNAPSHOT-runner
+APPCDS_ARCHIVE=target/quarkus-app/app-cds.jsa
+APPCDS_TRAINED_ARCHIVE=target/quarkus-app/app-cds-trained.jsa
+CRAC_CHECKPOINT_DIR=target/crac-checkpoint
+
+if [[ $(date +%s%3N) == *N ]]; then
+    # BSD date (macOS) has no %N
+    now_ms() { perl -MTime::HiRes=time -e 'printf "%d\n", time() * 1000'; }
+else
+    now_ms() { date +%s%3N; }
+fi
+
+# Waits until url answers 2xx (POSTing $3 as JSON if given) and prints the ms elapsed since $2
+wait_for() {
+    local url=$1 start=$2
+    local args=(-sf -o /dev/null)
+    [ -z "${3:-}" ] || args+=(-H 'Content-Type: application/json' --data "$3")
+    while true; do
+        if curl "${args[@]}" "$url"; then
+            echo $(( $(now_ms) - start ))
+            return 0
+        fi
+        if (( $(now_ms) - start > STARTUP_TIMEOUT * 1000 )); then
+            echo "timed out waiting for $url" >&2
+            return 1
+        fi
+        sleep 0.01
+    done
+}
+
+# Sends the benchmark query for $1 seconds, one request at a time, and prints the request count
+exercise() {
+    local count=0 end=$(( $(now_ms) + $1 * 1000 ))
+    while (( $(now_ms) < end )); do
+        curl -sf -o /dev/null -H 'Content-Type: application/json' --data "$QUERY" "$BASE_URL/graphql" && count=$((count + 1))
+    done
+    echo "$count"
+}
@@ -0,0 +1,128 @@
+#!/bin/bash
+# Compare startup time, memory and throughput of the packaged application across run modes.
+#
+# Usage: scripts/compare-startup.sh [mode...]   (default: jvm native)
+#   jvm     java -jar target/quarkus-app/quarkus-run.jar   (make build)
+#   native  target/otel-motel-1.0-SNAPSHOT-runner          (make build-native)
+#   appcds  jvm with the AppCDS archive                    (make build-appcds)
+#   crac    restore of the warmed-up checkpoint            (make crac-checkpoint, CRaC JDK only)
+#
+# Needs LocalStack (make infrastructure-up). Each mode is started RUNS times; the medians are
+# appended to target/benchmarks/startup-comparison.csv. Throughput uses `hey` when installed and
+# falls back to a sequential curl loop.
+
+set -euo pipefail
+
+CYAN='\033[0;36m'
+GREEN='\033[0;32m'
+YELLOW='\033[0;33m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+source "$(dirname "$0")/benchmark-common.sh"
+
+RUNS=${RUNS:-3}
+LOAD_SECONDS=${LOAD_SECONDS:-20}
+CONCURRENCY=${CONCURRENCY:-16}
+RESULTS=target/benchmarks/startup-comparison.csv
+
+# Prints the command line for a mode, or fails if its artifact is missing
+command_for_mode() {
+    case "$1" in
+        jvm)
+            [ -f "$JAR" ] || { echo "missing $JAR, run make build" >&2; return 1; }
+            echo "java -jar $JAR"
+            ;;
+        native)
+            [ -x "$NATIVE_RUNNER" ] || { echo "missing $NATIVE_RUNNER, run make build-native" >&2; return 1; }
+            echo "$NATIVE_RUNNER"
+            ;;
+        appcds)
+            # Prefer the archive from a training run over the startup-only one from the build
+            local archive=$APPCDS_TRAINED_ARCHIVE
+            [ -f "$archive" ] || archive=$APPCDS_ARCHIVE
+            [ -f "$archive" ] || { echo "missing AppCDS archive, run make build-appcds" >&2; return 1; }
+            echo "java -XX:SharedArchiveFile=$archive -Xshare:auto -jar $JAR"
+            ;;
+        crac)
+            [ -d "$CRAC_CHECKPOINT_DIR" ] || { echo "missing $CRAC_CHECKPOINT_DIR, run make crac-checkpoint" >&2; return 1; }
+            echo "java -XX:CRaCRestoreFrom=$CRAC_CHECKPOINT_DIR"
+            ;;
+        *)
+            echo "unknown mode $1" >&2
+            return 1
+            ;;
+    esac
+}
+
+rss_mb() {
+    awk '/VmRSS/ { printf "%.1f", $2 / 1024 }' "/proc/$1/status" 2>/dev/null || ps -o rss= -p "$1" | awk '{ printf "%.1f", $1 / 1024 }'
+}
+
+throughput() {
+    if command -v hey > /dev/null; then
+        hey -z "${LOAD_SECONDS}s" -c "$CONCURRENCY" -m POST -T application/json -d "$QUERY" "$BASE_URL/graphql" \
+            | awk '/Requests\/sec/ { printf "%.1f", $2 }'
+    else
+        awk -v c="$(exercise "$LOAD_SECONDS")" -v s="$LOAD_SECONDS" 'BEGIN { printf "%.1f", c / s }'
+    fi
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+run_once() {
+    local mode=$1 command
+    command=$(command_for_mode "$mode")
+    local start
+    start=$(now_ms)
+    $command > "target/benchmarks/startup-$mode.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2> /dev/null || true" EXIT
+
+    local live ready first
+    live=$(wait_for "$BASE_URL/q/health/live" "$start")
+    first=$(wait_for "$BASE_URL/graphql" "$start" "$QUERY")
+    ready=$(wait_for "$BASE_URL/q/health/ready" "$start")
+    local idle_rss load_rss rps
+    idle_rss=$(rss_mb "$pid")
+    rps=$(throughput)
+    load_rss=$(rss_mb "$pid")
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    trap - EXIT
+    echo "$live $first $ready $idle_rss $load_rss $rps"
+}
+
+mkdir -p target/benchmarks
+[ -f "$RESULTS" ] || echo "mode,live_ms,first_request_ms,ready_ms,rss_idle_mb,rss_load_mb,requests_per_second" > "$RESULTS"
+
+MODES=("$@")
+[ ${#MODES[@]} -gt 0 ] || MODES=(jvm native)
+
+for mode in "${MODES[@]}"; do
+    if ! command_for_mode "$mode" > /dev/null; then
+        echo -e "${YELLOW}Skipping $mode${NC}"
+        continue
+    fi
+    echo -e "${CYAN}Measuring $mode ($RUNS runs)...${NC}"
+    samples=()
+    for ((i = 1; i <= RUNS; i++)); do
+        if ! sample=$(run_once "$mode"); then
+            echo -e "${RED}$mode run $i failed, see target/benchmarks/startup-$mode.log${NC}"
+            continue 2
+        fi
+        echo "  run $i: live/first/ready ms, idle/load MB, req/s = $sample"
+        samples+=("$sample")
+    done
+    row=$mode
+    for column in 1 2 3 4 5 6; do
+        row+=",$(printf '%s\n' "${samples[@]}" | awk -v c=$column '{ print $c }' | median)"
+    done
+    echo "$row" >> "$RESULTS"
+    echo -e "${GREEN}✓ $row${NC}"
+done
+
+column -s, -t "$RESULTS"
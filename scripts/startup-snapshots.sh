@@ -0,0 +1,66 @@
+#!/bin/bash
+# Produce the startup snapshots used by the appcds and crac modes of compare-startup.sh.
+#
+# Usage: scripts/startup-snapshots.sh appcds|crac
+#   appcds  Training run: starts the jar with -XX:ArchiveClassesAtExit, sends WARMUP_SECONDS of
+#           GraphQL traffic and stops it, leaving target/quarkus-app/app-cds-trained.jsa. Unlike
+#           the archive from `-Pappcds` (boot only) it also covers the classes of the request path.
+#   crac    Starts the jar with -XX:CRaCCheckpointTo, waits for readiness (data initialization and
+#           cache warm-up), sends WARMUP_SECONDS of traffic so the JIT has compiled the hot path,
+#           and checkpoints with jcmd into target/crac-checkpoint. Needs a CRaC-enabled JDK.
+#
+# Needs LocalStack (make infrastructure-up) and a jar build (make build).
+
+set -euo pipefail
+
+CYAN='\033[0;36m'
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+source "$(dirname "$0")/benchmark-common.sh"
+
+WARMUP_SECONDS=${WARMUP_SECONDS:-30}
+
+[ -f "$JAR" ] || { echo -e "${RED}missing $JAR, run make build${NC}"; exit 1; }
+mkdir -p target/benchmarks
+
+warm_up() {
+    local start
+    start=$(now_ms)
+    echo "  ready after $(wait_for "$BASE_URL/q/health/ready" "$start") ms"
+    echo "  sent $(exercise "$WARMUP_SECONDS") requests in ${WARMUP_SECONDS}s"
+}
+
+case "${1:-}" in
+    appcds)
+        echo -e "${CYAN}AppCDS training run...${NC}"
+        rm -f "$APPCDS_TRAINED_ARCHIVE"
+        java -XX:ArchiveClassesAtExit="$APPCDS_TRAINED_ARCHIVE" -jar "$JAR" > target/benchmarks/appcds-training.log 2>&1 &
+        pid=$!
+        warm_up
+        # SIGTERM runs the shutdown hooks, and the JVM writes the archive on exit
+        kill "$pid"
+        wait "$pid" || true
+        [ -f "$APPCDS_TRAINED_ARCHIVE" ] || { echo -e "${RED}no archive written, see target/benchmarks/appcds-training.log${NC}"; exit 1; }
+        echo -e "${GREEN}✓ $APPCDS_TRAINED_ARCHIVE ($(du -h "$APPCDS_TRAINED_ARCHIVE" | cut -f1))${NC}"
+        ;;
+    crac)
+        java -XX:CRaCCheckpointTo=/dev/null -version > /dev/null 2>&1 \
+            || { echo -e "${RED}this JDK does not support CRaC (try Azul Zulu with CRaC)${NC}"; exit 1; }
+        echo -e "${CYAN}CRaC checkpoint after warm-up...${NC}"
+        rm -rf "$CRAC_CHECKPOINT_DIR"
+        java -XX:CRaCCheckpointTo="$CRAC_CHECKPOINT_DIR" -jar "$JAR" > target/benchmarks/crac-checkpoint.log 2>&1 &
+        pid=$!
+        warm_up
+        jcmd "$pid" JDK.checkpoint > /dev/null
+        # The JVM exits once the image has been written
+        wait "$pid" || true
+        [ -d "$CRAC_CHECKPOINT_DIR" ] || { echo -e "${RED}no checkpoint written, see target/benchmarks/crac-checkpoint.log${NC}"; exit 1; }
+        echo -e "${GREEN}✓ $CRAC_CHECKPOINT_DIR ($(du -sh "$CRAC_CHECKPOINT_DIR" | cut -f1))${NC}"
+        ;;
+    *)
+        echo "Usage: $0 appcds|crac"
+        exit 1
+        ;;
+esac
@@ -0,0 +1,130 @@
+package com.johnnyb.cache;
+
+import graphql.language.AstPrinter;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Builds the response cache key for a GraphQL request. Only queries whose root fields are all
+ * public catalogue reads are cacheable; the key is the compact-printed document, operation name
+ * and canonicalised variables so that formatting differences map to the same entry.
+ */
+public final class CatalogueCacheKey {
+
+    static final Set<String> CACHEABLE_FIELDS = Set.of(
+        "hotels", "hotel", "hotelsByCity", "hotelsByCountry", "roomsByHotel", "__typename");
+
+    private CatalogueCacheKey() {
+    }
+
+    public static Optional<String> of(String query, String operationName, Map<String, ?> variables) {
+        if (query == null || query.isBlank()) {
+            return Optional.empty();
+        }
+        Document document;
+        try {
+            document = Parser.parse(query);
+        } catch (InvalidSyntaxException e) {
+            return Optional.empty();
+        }
+
+        var operation = selectOperation(document, operationName);
+        if (operation == null || operation.getOperation() != OperationDefinition.Operation.QUERY) {
+            return Optional.empty();
+        }
+        for (Selection<?> selection : operation.getSelectionSet().getSelections()) {
+            if (!(selection instanceof Field field) || !CACHEABLE_FIELDS.contains(field.getName())) {
+                return Optional.empty();
+            }
+        }
+
+        var key = new StringBuilder(AstPrinter.printAstCompact(document))
+            .append('\u0000').append(operationName != null ? operationName : "")
+            .append('\u0000');
+        appendCanonical(key, variables);
+        return Optional.of(key.toString());
+    }
+
+    private static OperationDefinition selectOperation(Document document, String operationName) {
+        var operations = document.getDefinitionsOfType(OperationDefinition.class);
+        if (operationName == null || operationName.isBlank()) {
+            return operations.size() == 1 ? operations.get(0) : null;
+        }
+        return operations.stream()
+            .filter(o -> operationName.equals(o.getName()))
+            .findFirst()
+            .orElse(null);
+    }
+
+    public static Map<String, Object> toMap(JsonObject json) {
+        var map = new LinkedHashMap<String, Object>();
+        if (json != null) {
+            json.forEach((name, value) -> map.put(name, toJava(value)));
+        }
+        return map;
+    }
+
+    private static Object toJava(JsonValue value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value.getValueType()) {
+            case STRING -> ((JsonString) value).getString();
+            case NUMBER -> ((JsonNumber) value).bigDecimalValue();
+            case TRUE -> Boolean.TRUE;
+            case FALSE -> Boolean.FALSE;
+            case OBJECT -> toMap((JsonObject) value);
+            case ARRAY -> {
+                var list = new ArrayList<Object>();
+                ((JsonArray) value).forEach(v -> list.add(toJava(v)));
+                yield list;
+            }
+            default -> null;
+        };
+    }
+
+    private static void appendCanonical(StringBuilder sb, Object value) {
+        if (value instanceof Map<?, ?> map) {
+            var sorted = new TreeMap<String, Object>();
+            map.forEach((k, v) -> sorted.put(String.valueOf(k), v));
+            sb.append('{');
+            sorted.forEach((k, v) -> {
+                sb.append(k).append('=');
+                appendCanonical(sb, v);
+                sb.append(',');
+            });
+            sb.append('}');
+        } else if (value instanceof List<?> list) {
+            sb.append('[');
+            list.forEach(v -> {
+                appendCanonical(sb, v);
+                sb.append(',');
+            });
+            sb.append(']');
+        } else if (value instanceof Number number) {
+            sb.append(new BigDecimal(number.toString()).stripTrailingZeros().toPlainString());
+        } else if (value instanceof String string) {
+            sb.append('"').append(string).append('"');
+        } else {
+            sb.append(value);
+        }
+    }
+}
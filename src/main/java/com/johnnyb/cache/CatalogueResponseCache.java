@@ -0,0 +1,136 @@
+package com.johnnyb.cache;
+
+import com.johnnyb.model.Hotel;
+import com.johnnyb.model.Room;
+import com.johnnyb.telemetry.jfr.CacheLookupEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-local cache of root field results for public catalogue queries. Every hotel or room
+ * write bumps the catalogue version, which clears the cache and changes every ETag. Hotels and
+ * rooms are held as copies and handed out as fresh copies, so resolvers cannot change a cached
+ * result for later requests.
+ */
+@ApplicationScoped
+public class CatalogueResponseCache implements ICatalogueResponseCache {
+
+    private static final Logger LOG = Logger.getLogger(CatalogueResponseCache.class);
+
+    @ConfigProperty(name = "catalogue.cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "catalogue.cache.max-entries", defaultValue = "500")
+    int maxEntries;
+
+    @ConfigProperty(name = "catalogue.cache.max-age", defaultValue = "30")
+    int maxAge;
+
+    private final AtomicLong version = new AtomicLong();
+    private Map<String, Map<String, Object>> entries;
+
+    @PostConstruct
+    void init() {
+        entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, Object>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> get(String key) {
+        var event = new CacheLookupEvent();
+        event.begin();
+        Map<String, Object> cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (event.shouldCommit()) {
+            event.cache = "catalogue";
+            event.key = Integer.toHexString(key.hashCode());
+            event.hit = cached != null;
+            event.commit();
+        }
+        return Optional.ofNullable(cached).map(CatalogueResponseCache::copyOf);
+    }
+
+    @Override
+    public boolean contains(String key) {
+        synchronized (entries) {
+            return entries.containsKey(key);
+        }
+    }
+
+    @Override
+    public void put(String key, long expectedVersion, Map<String, Object> rootValues) {
+        synchronized (entries) {
+            // Drop results computed before a concurrent write
+            if (version.get() == expectedVersion) {
+                entries.put(key, Collections.unmodifiableMap(copyOf(rootValues)));
+            }
+        }
+    }
+
+    @Override
+    public String etag(String key, long atVersion) {
+        return "W/\"" + Long.toHexString(atVersion) + "-" + Integer.toHexString(key.hashCode()) + "\"";
+    }
+
+    @Override
+    public int maxAgeSeconds() {
+        return maxAge;
+    }
+
+    @Override
+    public void invalidate() {
+        synchronized (entries) {
+            version.incrementAndGet();
+            entries.clear();
+        }
+        LOG.debugf("Catalogue cache invalidated, version is now %d", version.get());
+    }
+
+    private static Map<String, Object> copyOf(Map<String, Object> rootValues) {
+        var copy = new HashMap<String, Object>(rootValues.size());
+        rootValues.forEach((field, value) -> copy.put(field, copyOf(value)));
+        return copy;
+    }
+
+    private static Object copyOf(Object value) {
+        if (value instanceof List<?> list) {
+            var copy = new ArrayList<>(list.size());
+            list.forEach(element -> copy.add(copyOf(element)));
+            return copy;
+        }
+        if (value instanceof Hotel hotel) {
+            return Hotel.HOTEL_TABLE_SCHEMA.mapToItem(Hotel.HOTEL_TABLE_SCHEMA.itemToMap(hotel, true));
+        }
+        if (value instanceof Room room) {
+            return Room.ROOM_TABLE_SCHEMA.mapToItem(Room.ROOM_TABLE_SCHEMA.itemToMap(room, true));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,110 @@
+package com.johnnyb.cache;
+
+import com.johnnyb.model.CompactId;
+import com.johnnyb.telemetry.jfr.CacheLookupEvent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded, process-local LRU cache of items by partition key with a time-to-live. Writes through
+ * the owning service replace or evict the cached copy; writes made by other nodes become visible
+ * once the entry expires. Keys are held as {@link CompactId}s so the cache does not retain the
+ * request's id strings. Values are copied on the way in and out, so neither the writer nor any
+ * reader can change what other readers see.
+ */
+public final class EntityCache<T> {
+
+    private record Entry<T>(T value, long expiresAtNanos) {
+    }
+
+    private final String name;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final UnaryOperator<T> copy;
+    private final Map<CompactId, Entry<T>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    EntityCache(String name, int maxEntries, long ttlNanos, LongSupplier clock, UnaryOperator<T> copy) {
+        this.name = name;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+        this.copy = copy;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CompactId, Entry<T>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Optional<T> get(String id) {
+        var event = new CacheLookupEvent();
+        event.begin();
+        T value = null;
+        var key = CompactId.of(id);
+        synchronized (entries) {
+            var entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAtNanos() - clock.getAsLong() > 0) {
+                    value = entry.value();
+                } else {
+                    entries.remove(key);
+                }
+            }
+        }
+        (value != null ? hits : misses).increment();
+        if (event.shouldCommit()) {
+            event.cache = name;
+            event.key = id;
+            event.hit = value != null;
+            event.commit();
+        }
+        return value == null ? Optional.empty() : Optional.of(copy.apply(value));
+    }
+
+    public void put(String id, T value) {
+        var key = CompactId.of(id);
+        var expiresAt = clock.getAsLong() + ttlNanos;
+        var stored = copy.apply(value);
+        synchronized (entries) {
+            entries.put(key, new Entry<>(stored, expiresAt));
+        }
+    }
+
+    public void invalidate(String id) {
+        var key = CompactId.of(id);
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,70 @@
+package com.johnnyb.cache;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Creates the per-table {@link EntityCache}s used by the services and reports their size and hit
+ * ratio as OTel metrics.
+ */
+@ApplicationScoped
+public class EntityCacheRegistry {
+
+    private static final AttributeKey<String> CACHE = AttributeKey.stringKey("cache.name");
+
+    @ConfigProperty(name = "entity-cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "entity-cache.max-entries", defaultValue = "10000")
+    int maxEntries;
+
+    @ConfigProperty(name = "entity-cache.ttl", defaultValue = "PT5M")
+    Duration ttl;
+
+    @Inject
+    Meter meter;
+
+    private final List<EntityCache<?>> caches = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    void init() {
+        meter.gaugeBuilder("entity.cache.size")
+            .ofLongs()
+            .setDescription("Items held per entity cache")
+            .buildWithCallback(measurement -> caches.forEach(cache ->
+                measurement.record(cache.size(), Attributes.of(CACHE, cache.name()))));
+        meter.counterBuilder("entity.cache.hits")
+            .setDescription("Entity cache lookups answered from memory")
+            .buildWithCallback(measurement -> caches.forEach(cache ->
+                measurement.record(cache.hits(), Attributes.of(CACHE, cache.name()))));
+        meter.counterBuilder("entity.cache.misses")
+            .setDescription("Entity cache lookups that went to DynamoDB")
+            .buildWithCallback(measurement -> caches.forEach(cache ->
+                measurement.record(cache.misses(), Attributes.of(CACHE, cache.name()))));
+    }
+
+    public void clearAll() {
+        caches.forEach(EntityCache::clear);
+    }
+
+    /**
+     * Returns a new cache for {@code name}; a disabled cache holds nothing. Entries are copied by
+     * round-tripping them through {@code schema}.
+     */
+    public <T> EntityCache<T> create(String name, TableSchema<T> schema) {
+        var cache = new EntityCache<T>(name, enabled ? maxEntries : 0, ttl.toNanos(), System::nanoTime,
+            item -> schema.mapToItem(schema.itemToMap(item, true)));
+        caches.add(cache);
+        return cache;
+    }
+}
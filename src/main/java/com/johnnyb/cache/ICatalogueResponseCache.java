@@ -0,0 +1,15 @@
+package com.johnnyb.cache;
+
+import java.util.Map;
+import java.util.Optional;
+
+public interface ICatalogueResponseCache {
+    boolean isEnabled();
+    long version();
+    Optional<Map<String, Object>> get(String key);
+    boolean contains(String key);
+    void put(String key, long version, Map<String, Object> rootValues);
+    String etag(String key, long version);
+    int maxAgeSeconds();
+    void invalidate();
+}
@@ -0,0 +1,102 @@
+package com.johnnyb.config;
+
+import com.johnnyb.cache.EntityCacheRegistry;
+import com.johnnyb.cache.ICatalogueResponseCache;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.jboss.logmanager.LogContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prepares the application for a CRaC checkpoint (see {@code scripts/startup-snapshots.sh crac}).
+ * Buffered log records and telemetry are flushed before the image is written. The OTLP exporter's
+ * HTTP client cannot be closed and reopened, so the checkpoint waits for its pooled connections to
+ * reach their idle timeout, which Quarkus sets to the exporter timeout. The DynamoDB HTTP client
+ * and the GELF sender close their own sockets (see {@code ReopenableHttpClient} and
+ * {@code AsyncGelfHandlerInstaller}); Quarkus closes and reopens the HTTP listener. The in-process
+ * caches are cleared on restore because their TTLs are measured on a clock that does not advance
+ * while the image is stored. On a JDK without CRaC the registration is a no-op.
+ */
+@ApplicationScoped
+public class CheckpointRestoreHandler implements Resource {
+
+    private static final Logger LOG = Logger.getLogger(CheckpointRestoreHandler.class);
+
+    @Inject
+    EntityCacheRegistry entityCaches;
+
+    @Inject
+    ICatalogueResponseCache catalogueCache;
+
+    @Inject
+    OpenTelemetry openTelemetry;
+
+    @ConfigProperty(name = "quarkus.otel.exporter.otlp.endpoint", defaultValue = "http://localhost:4317")
+    URI otlpEndpoint;
+
+    @ConfigProperty(name = "quarkus.otel.exporter.otlp.timeout", defaultValue = "10s")
+    Duration otlpTimeout;
+
+    private long checkpointMillis;
+
+    void onStart(@Observes StartupEvent event) {
+        // The global context only keeps weak references; this bean keeps the resource alive
+        Core.getGlobalContext().register(this);
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        LOG.info("Preparing for checkpoint");
+        checkpointMillis = System.currentTimeMillis();
+        for (var handler : LogContext.getLogContext().getLogger("").getHandlers()) {
+            handler.flush();
+        }
+        if (openTelemetry instanceof OpenTelemetrySdk sdk) {
+            var timeoutMillis = otlpTimeout.toMillis();
+            sdk.getSdkTracerProvider().forceFlush().join(timeoutMillis, TimeUnit.MILLISECONDS);
+            sdk.getSdkMeterProvider().forceFlush().join(timeoutMillis, TimeUnit.MILLISECONDS);
+            sdk.getSdkLoggerProvider().forceFlush().join(timeoutMillis, TimeUnit.MILLISECONDS);
+            awaitOtlpConnectionsClosed(timeoutMillis * 2);
+        }
+    }
+
+    /** Logs nothing while waiting: a log record would be exported and open a new connection */
+    private void awaitOtlpConnectionsClosed(long timeoutMillis) {
+        var deadline = System.currentTimeMillis() + timeoutMillis;
+        var port = otlpEndpoint.getPort() != -1 ? otlpEndpoint.getPort()
+            : "https".equals(otlpEndpoint.getScheme()) ? 443 : 80;
+        var open = ProcessSockets.connectionsTo(port);
+        while (open > 0 && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            open = ProcessSockets.connectionsTo(port);
+        }
+        if (open > 0) {
+            LOG.warnf("%d OTLP connection(s) still open at checkpoint", open);
+        }
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        entityCaches.clearAll();
+        catalogueCache.invalidate();
+        LOG.infof("Restored from a checkpoint taken %d s ago; caches cleared",
+            (System.currentTimeMillis() - checkpointMillis) / 1000);
+    }
+}
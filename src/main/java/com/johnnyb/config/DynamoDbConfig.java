@@ -1,11 +1,16 @@
 package com.johnnyb.config;
 
+import com.johnnyb.telemetry.DynamoDbTracingInterceptor;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import org.crac.Core;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
@@ -26,16 +31,26 @@ public class DynamoDbConfig implements IDynamoDbConfig {
     @ConfigProperty(name = "aws.dynamodb.credentials.secret-access-key", defaultValue = "test")
     String secretAccessKey;
 
+    @Inject
+    DynamoDbTracingInterceptor tracingInterceptor;
+
     @Produces
     @ApplicationScoped
     @Override
     public DynamoDbClient dynamoDbClient() {
+        // Apache rather than URLConnection: the JDK's keep-alive cache cannot be closed for a CRaC checkpoint
+        var httpClient = new ReopenableHttpClient(() -> ApacheHttpClient.builder().build());
+        // The global context only keeps weak references; the DynamoDB client keeps this one alive
+        Core.getGlobalContext().register(httpClient);
         return DynamoDbClient.builder()
             .endpointOverride(URI.create(endpoint))
             .region(Region.of(region))
             .credentialsProvider(StaticCredentialsProvider.create(
                 AwsBasicCredentials.create(accessKeyId, secretAccessKey)))
-            .httpClient(software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient.builder().build())
+            .httpClient(httpClient)
+            .overrideConfiguration(ClientOverrideConfiguration.builder()
+                .addExecutionInterceptor(tracingInterceptor)
+                .build())
             .build();
     }
 
@@ -0,0 +1,44 @@
+package com.johnnyb.config;
+
+import com.johnnyb.hotkey.HotKey;
+import com.johnnyb.hotkey.HotKeyKind;
+import com.johnnyb.model.Booking;
+import com.johnnyb.model.Customer;
+import com.johnnyb.model.Hotel;
+import com.johnnyb.model.PaymentDetails;
+import com.johnnyb.model.Room;
+import com.johnnyb.occupancy.DailyOccupancy;
+import com.johnnyb.telemetry.jfr.CacheLookupEvent;
+import com.johnnyb.telemetry.jfr.DynamoDbCallEvent;
+import com.johnnyb.telemetry.jfr.GraphQLFieldEvent;
+import com.johnnyb.telemetry.jfr.ServiceCallEvent;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Reflection registrations for the native image. The DynamoDB items are mapped by the
+ * {@code ItemMapper}s (plain accessor calls, no bean introspection), but the Lombok models are still read
+ * reflectively when GraphQL results are serialized and when they are logged. JFR reads the fields
+ * of the custom events reflectively when they are registered. The AWS SDK ships its own
+ * {@code META-INF/native-image} configuration, and the GELF handler is covered by the
+ * quarkus-logging-gelf extension.
+ */
+@RegisterForReflection(targets = {
+    Hotel.class,
+    Room.class,
+    Booking.class,
+    Booking.BookingStatus.class,
+    Customer.class,
+    PaymentDetails.class,
+    HotKey.class,
+    HotKeyKind.class,
+    DailyOccupancy.class,
+    ServiceCallEvent.class,
+    DynamoDbCallEvent.class,
+    CacheLookupEvent.class,
+    GraphQLFieldEvent.class
+})
+public final class NativeImageReflectionConfig {
+
+    private NativeImageReflectionConfig() {
+    }
+}
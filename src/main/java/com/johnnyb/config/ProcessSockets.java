@@ -0,0 +1,65 @@
+package com.johnnyb.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Counts this process's open TCP connections from {@code /proc}. Used to wait for pooled client
+ * connections that cannot be closed through their library to time out before a checkpoint. Off
+ * Linux there is nothing to read and the count is always zero.
+ */
+final class ProcessSockets {
+
+    private ProcessSockets() {
+    }
+
+    static int connectionsTo(int remotePort) {
+        var inodes = socketInodes();
+        if (inodes.isEmpty()) {
+            return 0;
+        }
+        var count = 0;
+        for (var table : new String[] {"/proc/self/net/tcp", "/proc/self/net/tcp6"}) {
+            try (var lines = Files.lines(Path.of(table))) {
+                count += (int) lines.filter(line -> isConnectionTo(line, remotePort, inodes)).count();
+            } catch (IOException | UncheckedIOException e) {
+                // No IPv6 table, or not Linux
+            }
+        }
+        return count;
+    }
+
+    /** Matches a {@code /proc/net/tcp} row whose remote port is {@code remotePort} and whose inode is ours */
+    static boolean isConnectionTo(String line, int remotePort, Set<String> inodes) {
+        var fields = line.trim().split("\\s+");
+        if (fields.length < 10 || !fields[0].endsWith(":")) {
+            return false;
+        }
+        var remote = fields[2];
+        var port = Integer.parseInt(remote.substring(remote.lastIndexOf(':') + 1), 16);
+        return port == remotePort && inodes.contains(fields[9]);
+    }
+
+    private static Set<String> socketInodes() {
+        var inodes = new HashSet<String>();
+        try (var fds = Files.list(Path.of("/proc/self/fd"))) {
+            fds.forEach(fd -> {
+                try {
+                    var target = Files.readSymbolicLink(fd).toString();
+                    if (target.startsWith("socket:[")) {
+                        inodes.add(target.substring(8, target.length() - 1));
+                    }
+                } catch (IOException e) {
+                    // Closed since it was listed
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            // Not Linux
+        }
+        return inodes;
+    }
+}
@@ -0,0 +1,70 @@
+package com.johnnyb.config;
+
+import org.crac.Context;
+import org.crac.Resource;
+import org.jboss.logging.Logger;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.SdkHttpClient;
+
+import java.util.function.Supplier;
+
+/**
+ * SDK HTTP client whose connection pool can be dropped for a CRaC checkpoint: the pool is closed
+ * in {@code beforeCheckpoint}, closing its sockets, and the first request after restore opens a
+ * new one.
+ */
+final class ReopenableHttpClient implements SdkHttpClient, Resource {
+
+    private static final Logger LOG = Logger.getLogger(ReopenableHttpClient.class);
+
+    private final Supplier<SdkHttpClient> factory;
+    private volatile SdkHttpClient delegate;
+
+    ReopenableHttpClient(Supplier<SdkHttpClient> factory) {
+        this.factory = factory;
+    }
+
+    private SdkHttpClient delegate() {
+        var current = delegate;
+        if (current == null) {
+            synchronized (this) {
+                current = delegate;
+                if (current == null) {
+                    current = factory.get();
+                    delegate = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public ExecutableHttpRequest prepareRequest(HttpExecuteRequest request) {
+        return delegate().prepareRequest(request);
+    }
+
+    @Override
+    public String clientName() {
+        return delegate().clientName();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (delegate != null) {
+            delegate.close();
+            delegate = null;
+        }
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        LOG.debug("Closing DynamoDB HTTP connections for checkpoint");
+        close();
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        // Reopened by the next request
+    }
+}
@@ -0,0 +1,91 @@
+package com.johnnyb.filter;
+
+import com.johnnyb.cache.CatalogueCacheKey;
+import com.johnnyb.cache.ICatalogueResponseCache;
+import io.quarkus.vertx.http.runtime.filters.Filters;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.json.Json;
+import jakarta.json.JsonException;
+import org.jboss.logging.Logger;
+
+import java.io.StringReader;
+import java.util.Map;
+
+/**
+ * Emits {@code ETag}/{@code Cache-Control} for public catalogue queries sent as
+ * {@code GET /graphql} and answers conditional requests with {@code 304 Not Modified} without
+ * executing the query. Runs after the HTTP security filters, so unauthenticated requests are
+ * rejected before a cached version can be confirmed.
+ */
+@ApplicationScoped
+public class CatalogueCacheFilter {
+
+    private static final Logger LOG = Logger.getLogger(CatalogueCacheFilter.class);
+    private static final String GRAPHQL_PATH = "/graphql";
+    // Below the authentication (200) and authorization (100) filters
+    private static final int PRIORITY = 10;
+
+    @Inject
+    ICatalogueResponseCache cache;
+
+    void register(@Observes Filters filters) {
+        filters.register(this::filter, PRIORITY);
+    }
+
+    private void filter(RoutingContext context) {
+        var request = context.request();
+        if (!cache.isEnabled() || request.method() != HttpMethod.GET || !GRAPHQL_PATH.equals(context.normalizedPath())) {
+            context.next();
+            return;
+        }
+        var key = CatalogueCacheKey.of(request.getParam("query"), request.getParam("operationName"),
+            parseVariables(request.getParam("variables")));
+        if (key.isEmpty()) {
+            context.next();
+            return;
+        }
+
+        var version = cache.version();
+        var etag = cache.etag(key.get(), version);
+        var ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ifNoneMatch.contains(etag)) {
+            LOG.debugf("Catalogue query not modified (%s)", etag);
+            context.response()
+                .setStatusCode(304)
+                .putHeader(HttpHeaders.ETAG, etag)
+                .putHeader(HttpHeaders.CACHE_CONTROL, cacheControl())
+                .end();
+            return;
+        }
+
+        context.addHeadersEndHandler(ignored -> {
+            var response = context.response();
+            // Only results the cache accepted (no errors, no concurrent write) get a validator
+            if (response.getStatusCode() == 200 && cache.version() == version && cache.contains(key.get())) {
+                response.putHeader(HttpHeaders.ETAG, etag);
+                response.putHeader(HttpHeaders.CACHE_CONTROL, cacheControl());
+            }
+        });
+        context.next();
+    }
+
+    private String cacheControl() {
+        return "private, max-age=" + cache.maxAgeSeconds();
+    }
+
+    private static Map<String, Object> parseVariables(String variables) {
+        if (variables == null || variables.isBlank()) {
+            return Map.of();
+        }
+        try (var reader = Json.createReader(new StringReader(variables))) {
+            return CatalogueCacheKey.toMap(reader.readObject());
+        } catch (JsonException e) {
+            return Map.of();
+        }
+    }
+}
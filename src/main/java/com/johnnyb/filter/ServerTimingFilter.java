@@ -0,0 +1,66 @@
+package com.johnnyb.filter;
+
+import com.johnnyb.telemetry.GraphQLRequestTimings;
+import io.quarkus.vertx.http.runtime.filters.Filters;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.Locale;
+
+/**
+ * Adds a {@code Server-Timing} header to GraphQL responses so latency can be broken down from
+ * browser devtools or load-test reports: parse, validate, resolver execution, time spent in
+ * DynamoDB (overlaps exec), serialization of the result up to the response headers, and the total.
+ */
+@ApplicationScoped
+public class ServerTimingFilter {
+
+    private static final Logger LOG = Logger.getLogger(ServerTimingFilter.class);
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+    private static final String GRAPHQL_PATH = "/graphql";
+    // Below the security filters, above CatalogueCacheFilter so 304s are timed too
+    private static final int PRIORITY = 20;
+
+    @ConfigProperty(name = "server-timing.enabled", defaultValue = "true")
+    boolean enabled;
+
+    void register(@Observes Filters filters) {
+        filters.register(this::filter, PRIORITY);
+    }
+
+    private void filter(RoutingContext context) {
+        if (!enabled || !GRAPHQL_PATH.equals(context.normalizedPath())) {
+            context.next();
+            return;
+        }
+        var start = System.nanoTime();
+        var timings = new GraphQLRequestTimings();
+        context.put(GraphQLRequestTimings.KEY, timings);
+        context.addHeadersEndHandler(ignored -> {
+            var now = System.nanoTime();
+            var executionEnd = timings.executionEndNanos();
+            var header = new StringBuilder();
+            append(header, "parse", timings.parseNanos());
+            append(header, "validate", timings.validateNanos());
+            append(header, "exec", timings.executeNanos());
+            append(header, "dynamodb", timings.dynamoDbNanos());
+            if (executionEnd > 0) {
+                append(header, "serialize", now - executionEnd);
+            }
+            append(header, "total", now - start);
+            context.response().putHeader(SERVER_TIMING_HEADER, header.toString());
+            LOG.debugf("Added %s header with value: %s", SERVER_TIMING_HEADER, header);
+        });
+        context.next();
+    }
+
+    private static void append(StringBuilder header, String metric, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(metric).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1e6));
+    }
+}
@@ -0,0 +1,99 @@
+package com.johnnyb.graphql;
+
+import com.johnnyb.cache.CatalogueCacheKey;
+import com.johnnyb.cache.ICatalogueResponseCache;
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetcher;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves the root fields of public catalogue queries from {@link ICatalogueResponseCache} and
+ * populates it on a miss. Nested fields are still completed by graphql-java as usual.
+ */
+@ApplicationScoped
+public class CatalogueCacheInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final Logger LOG = Logger.getLogger(CatalogueCacheInstrumentation.class);
+
+    @Inject
+    ICatalogueResponseCache cache;
+
+    static final class CacheState implements InstrumentationState {
+        final String key;
+        final long version;
+        final Map<String, Object> cached;
+        final Map<String, Object> captured = new ConcurrentHashMap<>();
+        volatile boolean cacheable = true;
+
+        CacheState(String key, long version, Map<String, Object> cached) {
+            this.key = key;
+            this.version = version;
+            this.cached = cached;
+        }
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        if (!cache.isEnabled()) {
+            return null;
+        }
+        var input = parameters.getExecutionInput();
+        var version = cache.version();
+        return CatalogueCacheKey.of(input.getQuery(), input.getOperationName(), input.getVariables())
+            .map(key -> new CacheState(key, version, cache.get(key).orElse(null)))
+            .orElse(null);
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters,
+                                                InstrumentationState state) {
+        if (!(state instanceof CacheState cacheState) || parameters.getExecutionStepInfo().getPath().getLevel() != 1) {
+            return dataFetcher;
+        }
+        var resultKey = parameters.getExecutionStepInfo().getResultKey();
+        if (cacheState.cached != null && cacheState.cached.containsKey(resultKey)) {
+            LOG.debugf("Serving %s from catalogue cache", resultKey);
+            return environment -> cacheState.cached.get(resultKey);
+        }
+        return environment -> {
+            Object value = dataFetcher.get(environment);
+            if (value instanceof CompletionStage<?> stage) {
+                return stage.thenApply(resolved -> capture(cacheState, resultKey, resolved));
+            }
+            return capture(cacheState, resultKey, value);
+        };
+    }
+
+    private static Object capture(CacheState state, String resultKey, Object value) {
+        if (value == null) {
+            // ConcurrentHashMap rejects nulls; absent values are not worth caching anyway
+            state.cacheable = false;
+        } else {
+            state.captured.put(resultKey, value);
+        }
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+                                                                        InstrumentationExecutionParameters parameters,
+                                                                        InstrumentationState state) {
+        if (state instanceof CacheState cacheState && cacheState.cached == null && cacheState.cacheable
+                && executionResult.getErrors().isEmpty() && !cacheState.captured.isEmpty()) {
+            cache.put(cacheState.key, cacheState.version, cacheState.captured);
+        }
+        return CompletableFuture.completedFuture(executionResult);
+    }
+}
@@ -0,0 +1,41 @@
+package com.johnnyb.graphql;
+
+import com.johnnyb.model.Booking;
+import com.johnnyb.model.Customer;
+import com.johnnyb.model.PaymentDetails;
+import com.johnnyb.service.IBookingService;
+import com.johnnyb.service.ICustomerService;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Source;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+
+@GraphQLApi
+@ApplicationScoped
+public class CustomerFieldResolver {
+
+    private static final Logger LOG = Logger.getLogger(CustomerFieldResolver.class);
+
+    @Inject
+    ICustomerService customerService;
+
+    @Inject
+    IBookingService bookingService;
+
+    /** Read from the payments table only when the field is selected */
+    @RolesAllowed({"user", "admin"})
+    public PaymentDetails paymentDetails(@Source Customer customer) {
+        LOG.debugf("Resolving payment details for customer %s", customer.getId());
+        return customerService.findPaymentDetails(customer.getId()).orElse(null);
+    }
+
+    @RolesAllowed({"user", "admin"})
+    public List<List<Booking>> bookings(@Source List<Customer> customers) {
+        LOG.debugf("Resolving bookings for %d customers", customers.size());
+        return ListsByIds.resolve(customers, Customer::getBookingIds, bookingService::findByIds, Booking::getId);
+    }
+}
@@ -0,0 +1,115 @@
+package com.johnnyb.graphql;
+
+import com.johnnyb.telemetry.DynamoDbRequestStats;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import io.opentelemetry.api.trace.Span;
+import io.quarkus.arc.Arc;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reports the DynamoDB work each GraphQL request caused (operations, items read, consumed units)
+ * in the response {@code extensions}, as span attributes, and in a slow-query log when any of the
+ * configured thresholds is crossed. N+1 resolvers and full scans show up as a high operation or
+ * item count long before they show up as latency.
+ */
+@ApplicationScoped
+public class DynamoDbBudgetInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final Logger SLOW_QUERY_LOG = Logger.getLogger("com.johnnyb.slowquery");
+
+    @ConfigProperty(name = "graphql.dynamodb-budget.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "graphql.dynamodb-budget.slow-query.max-operations", defaultValue = "25")
+    long maxOperations;
+
+    @ConfigProperty(name = "graphql.dynamodb-budget.slow-query.max-items-read", defaultValue = "1000")
+    long maxItemsRead;
+
+    @ConfigProperty(name = "graphql.dynamodb-budget.slow-query.max-read-units", defaultValue = "100")
+    double maxReadUnits;
+
+    @ConfigProperty(name = "graphql.dynamodb-budget.slow-query.max-duration-ms", defaultValue = "500")
+    long maxDurationMillis;
+
+    @Inject
+    DynamoDbRequestStats stats;
+
+    static final class BudgetState implements InstrumentationState {
+        final long startNanos = System.nanoTime();
+        final String query;
+        final String operationName;
+
+        BudgetState(String query, String operationName) {
+            this.query = query;
+            this.operationName = operationName;
+        }
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        if (!enabled || !Arc.container().requestContext().isActive()) {
+            return null;
+        }
+        var input = parameters.getExecutionInput();
+        return new BudgetState(input.getQuery(), input.getOperationName());
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+                                                                        InstrumentationExecutionParameters parameters,
+                                                                        InstrumentationState state) {
+        if (!(state instanceof BudgetState budget)) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+        var operations = stats.operations();
+        var itemsRead = stats.itemsRead();
+        var readUnits = stats.readUnits();
+        var writeUnits = stats.writeUnits();
+        var durationMillis = (System.nanoTime() - budget.startNanos) / 1_000_000;
+
+        var span = Span.current();
+        span.setAttribute("graphql.dynamodb.operations", operations);
+        span.setAttribute("graphql.dynamodb.items_read", itemsRead);
+        span.setAttribute("graphql.dynamodb.read_units", readUnits);
+        span.setAttribute("graphql.dynamodb.write_units", writeUnits);
+
+        if (operations > maxOperations || itemsRead > maxItemsRead || readUnits > maxReadUnits
+                || durationMillis > maxDurationMillis) {
+            SLOW_QUERY_LOG.warnf("Slow GraphQL operation %s: %dms, %d DynamoDB operations, %d items read, "
+                    + "%.1f RCU, %.1f WCU (%.1fms in DynamoDB) query=%s",
+                budget.operationName == null ? "<anonymous>" : budget.operationName, durationMillis, operations,
+                itemsRead, readUnits, writeUnits, stats.durationMillis(), abbreviate(budget.query));
+        }
+
+        var extension = new LinkedHashMap<String, Object>();
+        extension.put("operations", operations);
+        extension.put("itemsRead", itemsRead);
+        extension.put("readUnits", readUnits);
+        extension.put("writeUnits", writeUnits);
+        extension.put("timeMs", Math.round(stats.durationMillis()));
+        return CompletableFuture.completedFuture(ExecutionResultImpl.newExecutionResult()
+            .from(executionResult)
+            .addExtension("dynamodb", extension)
+            .build());
+    }
+
+    private static String abbreviate(String query) {
+        if (query == null) {
+            return "";
+        }
+        var compact = query.replaceAll("\\s+", " ").trim();
+        return compact.length() > 500 ? compact.substring(0, 500) + "..." : compact;
+    }
+}
@@ -0,0 +1,120 @@
+package com.johnnyb.graphql;
+
+import com.johnnyb.telemetry.jfr.GraphQLFieldEvent;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLObjectType;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures every resolver (root queries and {@code @Source} fields such as {@code Booking.room}),
+ * aggregating invocation counts and latency per field into OTel metrics. Child spans are only
+ * created when the current trace is sampled, so unsampled requests pay for a timer and a histogram
+ * update only. Plain property fields are skipped.
+ */
+@ApplicationScoped
+public class FieldMetricsInstrumentation extends SimplePerformantInstrumentation {
+
+    static final AttributeKey<String> FIELD = AttributeKey.stringKey("graphql.field.coordinate");
+
+    @ConfigProperty(name = "graphql.field-metrics.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @Inject
+    Tracer tracer;
+
+    @Inject
+    Meter meter;
+
+    private DoubleHistogram duration;
+    private LongCounter errors;
+    private final Map<String, Attributes> attributesByField = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        duration = meter.histogramBuilder("graphql.field.duration")
+            .setDescription("Resolver latency per GraphQL field; the count is the number of invocations")
+            .setUnit("ms")
+            .build();
+        errors = meter.counterBuilder("graphql.field.errors")
+            .setDescription("Resolver invocations that threw or completed exceptionally")
+            .build();
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters,
+                                                InstrumentationState state) {
+        if (!enabled || parameters.isTrivialDataFetcher()) {
+            return dataFetcher;
+        }
+        var parentType = parameters.getExecutionStepInfo().getObjectType();
+        var coordinate = coordinate(parentType, parameters.getField().getName());
+        var attributes = attributesByField.computeIfAbsent(coordinate, key -> Attributes.of(FIELD, key));
+
+        return environment -> {
+            var start = System.nanoTime();
+            var span = Span.current().getSpanContext().isSampled()
+                ? tracer.spanBuilder("graphql.field " + coordinate).setAttribute(FIELD, coordinate).startSpan()
+                : null;
+            var event = new GraphQLFieldEvent();
+            event.begin();
+
+            Object value;
+            try (var scope = span != null ? span.makeCurrent() : null) {
+                value = dataFetcher.get(environment);
+            } catch (Exception | Error e) {
+                complete(span, event, environment, coordinate, start, attributes, e);
+                throw e;
+            }
+            if (value instanceof CompletionStage<?> stage) {
+                return stage.whenComplete((result, failure) ->
+                    complete(span, event, environment, coordinate, start, attributes, failure));
+            }
+            complete(span, event, environment, coordinate, start, attributes, null);
+            return value;
+        };
+    }
+
+    private void complete(Span span, GraphQLFieldEvent event, DataFetchingEnvironment environment, String coordinate,
+                          long start, Attributes attributes, Throwable failure) {
+        if (event.shouldCommit()) {
+            event.field = coordinate;
+            event.path = environment.getExecutionStepInfo().getPath().toString();
+            event.failed = failure != null;
+            event.commit();
+        }
+        duration.record((System.nanoTime() - start) / 1e6, attributes);
+        if (failure != null) {
+            errors.add(1, attributes);
+        }
+        if (span != null) {
+            if (failure != null) {
+                span.recordException(failure);
+                span.setStatus(StatusCode.ERROR);
+            }
+            span.end();
+        }
+    }
+
+    private static String coordinate(GraphQLObjectType parentType, String fieldName) {
+        return (parentType == null ? "?" : parentType.getName()) + "." + fieldName;
+    }
+}
@@ -0,0 +1,37 @@
+package com.johnnyb.graphql;
+
+import graphql.GraphQL;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.Instrumentation;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Installs every graphql-java {@link Instrumentation} bean on the GraphQL engine when
+ * SmallRye GraphQL builds it (requires {@code quarkus.smallrye-graphql.events.enabled}).
+ */
+@ApplicationScoped
+public class GraphQLInstrumentationRegistrar {
+
+    private static final Logger LOG = Logger.getLogger(GraphQLInstrumentationRegistrar.class);
+
+    @Inject
+    @Any
+    Instance<Instrumentation> instrumentations;
+
+    void onGraphQLBuild(@Observes GraphQL.Builder builder) {
+        List<Instrumentation> chain = new ArrayList<>();
+        for (Instrumentation instrumentation : instrumentations) {
+            LOG.infof("Registering GraphQL instrumentation: %s", instrumentation.getClass().getSimpleName());
+            chain.add(instrumentation);
+        }
+        builder.instrumentation(new ChainedInstrumentation(chain));
+    }
+}
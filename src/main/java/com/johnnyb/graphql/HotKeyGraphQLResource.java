@@ -0,0 +1,34 @@
+package com.johnnyb.graphql;
+
+import com.johnnyb.hotkey.HotKey;
+import com.johnnyb.hotkey.HotKeyKind;
+import com.johnnyb.hotkey.IHotKeyTracker;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.graphql.DefaultValue;
+import org.eclipse.microprofile.graphql.Description;
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.NonNull;
+import org.eclipse.microprofile.graphql.Query;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+
+@GraphQLApi
+@ApplicationScoped
+public class HotKeyGraphQLResource {
+
+    private static final Logger LOG = Logger.getLogger(HotKeyGraphQLResource.class);
+
+    @Inject
+    IHotKeyTracker hotKeyTracker;
+
+    @Query("hotKeys")
+    @Description("Most frequently accessed ids of a kind over the recent window (estimated counts)")
+    @RolesAllowed("admin")
+    public List<HotKey> getHotKeys(@NonNull HotKeyKind kind, @DefaultValue("10") int limit) {
+        LOG.infof("Fetching top %d hot %s keys", limit, kind);
+        return hotKeyTracker.top(kind, limit);
+    }
+}
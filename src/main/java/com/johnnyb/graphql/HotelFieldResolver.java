@@ -0,0 +1,33 @@
+package com.johnnyb.graphql;
+
+import com.johnnyb.model.Hotel;
+import com.johnnyb.model.Room;
+import com.johnnyb.service.IRoomService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Source;
+import org.jboss.logging.Logger;
+
+import java.util.Comparator;
+import java.util.List;
+
+@GraphQLApi
+@ApplicationScoped
+public class HotelFieldResolver {
+
+    private static final Logger LOG = Logger.getLogger(HotelFieldResolver.class);
+    private static final Comparator<Room> BY_ROOM_NUMBER =
+        Comparator.comparing(Room::getRoomNumber, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @Inject
+    IRoomService roomService;
+
+    /** Rooms of every hotel in the response, loaded by their roomIds in one batch (no rooms scan) */
+    public List<List<Room>> rooms(@Source List<Hotel> hotels) {
+        LOG.debugf("Resolving rooms for %d hotels", hotels.size());
+        var rooms = ListsByIds.resolve(hotels, Hotel::getRoomIds, roomService::findByIds, Room::getId);
+        rooms.forEach(hotelRooms -> hotelRooms.sort(BY_ROOM_NUMBER));
+        return rooms;
+    }
+}
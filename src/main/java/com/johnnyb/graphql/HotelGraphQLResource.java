@@ -1,17 +1,24 @@
 package com.johnnyb.graphql;
 
+import com.johnnyb.hotkey.HotKeyKind;
+import com.johnnyb.hotkey.IHotKeyTracker;
 import com.johnnyb.model.Hotel;
 import com.johnnyb.model.Room;
 import com.johnnyb.model.Booking;
 import com.johnnyb.model.Customer;
+import com.johnnyb.model.Money;
+import com.johnnyb.occupancy.IOccupancyService;
+import com.johnnyb.occupancy.Occupancy;
 import com.johnnyb.service.IHotelService;
 import com.johnnyb.service.IRoomService;
 import com.johnnyb.service.IBookingService;
 import com.johnnyb.service.ICustomerService;
+import com.johnnyb.service.Pricing;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.annotation.security.PermitAll;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.graphql.Description;
 import org.eclipse.microprofile.graphql.GraphQLApi;
 import org.eclipse.microprofile.graphql.Query;
@@ -20,6 +27,7 @@ import org.jboss.logging.Logger;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -29,6 +37,12 @@ public class HotelGraphQLResource {
 
     private static final Logger LOG = Logger.getLogger(HotelGraphQLResource.class);
 
+    @ConfigProperty(name = "graphql.quote.max-rooms", defaultValue = "20")
+    int maxQuoteRooms;
+
+    @ConfigProperty(name = "occupancy.max-nights", defaultValue = "366")
+    int maxNights;
+
     @Inject
     IHotelService hotelService;
 
@@ -41,6 +55,12 @@ public class HotelGraphQLResource {
     @Inject
     ICustomerService customerService;
 
+    @Inject
+    IOccupancyService occupancyService;
+
+    @Inject
+    IHotKeyTracker hotKeys;
+
     @Query("hotels")
     @Description("Get all hotels")
     @PermitAll
@@ -94,19 +114,27 @@ public class HotelGraphQLResource {
     @PermitAll
     public List<Room> getAvailableRooms(String hotelId, LocalDate checkIn, LocalDate checkOut) {
         LOG.infof("Checking availability for hotel %s from %s to %s", hotelId, checkIn, checkOut);
-        
-        // Find all rooms for the hotel
-        var allRooms = roomService.findByHotelId(hotelId);
-        
-        // Filter out rooms that have bookings overlapping with the requested dates
-        return allRooms.stream()
-            .filter(room -> {
-                var overlappingBookings = bookingService.findOverlappingBookings(
-                    room.getId(), checkIn, checkOut
-                );
-                return overlappingBookings.isEmpty();
-            })
-            .toList();
+        Occupancy.checkWindow(checkIn, checkOut, maxNights);
+        return occupancyService.forHotel(hotelId, checkIn, checkOut).availableRooms();
+    }
+
+    @Query("quote")
+    @Description("Get the total price for staying in the given rooms over a date range")
+    @PermitAll
+    public BigDecimal getQuote(List<String> roomIds, LocalDate checkIn, LocalDate checkOut) {
+        LOG.infof("Quoting %d rooms from %s to %s", roomIds.size(), checkIn, checkOut);
+        if (roomIds.size() > maxQuoteRooms) {
+            throw new IllegalArgumentException("At most " + maxQuoteRooms + " rooms can be quoted at once");
+        }
+        if (new HashSet<>(roomIds).size() != roomIds.size()) {
+            throw new IllegalArgumentException("Each room can only be quoted once");
+        }
+        var nights = Pricing.nights(checkIn, checkOut);
+        var rooms = roomService.findByIds(roomIds);
+        if (rooms.size() != roomIds.size()) {
+            throw new IllegalArgumentException("Room not found");
+        }
+        return Money.toBigDecimal(Pricing.stay(rooms, nights));
     }
 
     @Query("booking")
@@ -158,6 +186,8 @@ public class HotelGraphQLResource {
         
         var room = roomService.findById(roomId)
             .orElseThrow(() -> new IllegalArgumentException("Room not found"));
+        // The room and customer lookups count themselves; the booking also heats the room's hotel
+        hotKeys.record(HotKeyKind.HOTEL, room.getHotelId());
         
         var customer = customerService.findById(customerId)
             .orElseThrow(() -> new IllegalArgumentException("Customer not found"));
@@ -172,8 +202,7 @@ public class HotelGraphQLResource {
         }
         
         // Calculate total price
-        var nights = checkOutDate.toEpochDay() - checkInDate.toEpochDay();
-        var totalPrice = room.getPricePerNight().multiply(BigDecimal.valueOf(nights));
+        var totalPrice = Pricing.stay(room, Pricing.nights(checkInDate, checkOutDate));
         
         var booking = Booking.builder()
             .id(UUID.randomUUID().toString())
@@ -182,12 +211,12 @@ public class HotelGraphQLResource {
             .checkInDate(checkInDate)
             .checkOutDate(checkOutDate)
             .numberOfGuests(numberOfGuests)
-            .totalPrice(totalPrice)
+            .totalPriceMinor(totalPrice)
             .status(Booking.BookingStatus.CONFIRMED)
             .specialRequests(specialRequests)
             .build();
         
-        bookingService.save(booking);
+        bookingService.create(booking);
         
         LOG.infof("Booking created with ID: %s", booking.getId());
         return booking;
@@ -202,8 +231,7 @@ public class HotelGraphQLResource {
         var booking = bookingService.findById(bookingId)
             .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
         
-        booking.setStatus(Booking.BookingStatus.CANCELLED);
-        bookingService.save(booking);
+        bookingService.cancel(booking);
         
         LOG.infof("Booking %s cancelled successfully", bookingId);
         return booking;
@@ -0,0 +1,50 @@
+package com.johnnyb.graphql;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Resolves a list field for a batch of sources from the ids stored on each source (such as
+ * {@code Room.bookingIds} or {@code Hotel.roomIds}) with a single {@code findByIds} call. Each
+ * list keeps the order of its ids; ids whose item no longer exists are skipped.
+ */
+final class ListsByIds {
+
+    private ListsByIds() {
+    }
+
+    static <S, T> List<List<T>> resolve(List<S> sources, Function<S, List<String>> idsOf,
+                                        Function<Collection<String>, List<T>> findByIds, Function<T, String> idOf) {
+        var ids = new ArrayList<String>();
+        for (var source : sources) {
+            var sourceIds = idsOf.apply(source);
+            if (sourceIds != null) {
+                ids.addAll(sourceIds);
+            }
+        }
+        var byId = new HashMap<String, T>();
+        if (!ids.isEmpty()) {
+            for (var item : findByIds.apply(ids)) {
+                byId.put(idOf.apply(item), item);
+            }
+        }
+        var result = new ArrayList<List<T>>(sources.size());
+        for (var source : sources) {
+            var items = new ArrayList<T>();
+            var sourceIds = idsOf.apply(source);
+            if (sourceIds != null) {
+                for (var id : sourceIds) {
+                    var item = byId.get(id);
+                    if (item != null) {
+                        items.add(item);
+                    }
+                }
+            }
+            result.add(items);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,42 @@
+package com.johnnyb.graphql;
+
+import com.johnnyb.occupancy.DailyOccupancy;
+import com.johnnyb.occupancy.IOccupancyService;
+import com.johnnyb.occupancy.Occupancy;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.graphql.Description;
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.NonNull;
+import org.eclipse.microprofile.graphql.Query;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@GraphQLApi
+@ApplicationScoped
+public class OccupancyGraphQLResource {
+
+    private static final Logger LOG = Logger.getLogger(OccupancyGraphQLResource.class);
+
+    @ConfigProperty(name = "occupancy.max-nights", defaultValue = "366")
+    int maxNights;
+
+    @Inject
+    IOccupancyService occupancyService;
+
+    @Query("occupancy")
+    @Description("Occupied rooms and guests per night for a hotel, or for all hotels when hotelId is omitted")
+    @RolesAllowed("admin")
+    public List<DailyOccupancy> getOccupancy(String hotelId, @NonNull LocalDate from, @NonNull LocalDate to) {
+        LOG.infof("Fetching occupancy for %s from %s to %s", hotelId != null ? hotelId : "all hotels", from, to);
+        Occupancy.checkWindow(from, to, maxNights);
+        var occupancy = hotelId != null
+            ? occupancyService.forHotel(hotelId, from, to)
+            : occupancyService.forFleet(from, to);
+        return occupancy.daily();
+    }
+}
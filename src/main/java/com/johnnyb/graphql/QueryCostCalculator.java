@@ -0,0 +1,111 @@
+package com.johnnyb.graphql;
+
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+
+import java.util.Map;
+
+/**
+ * Walks an operation against the schema and computes its static cost and depth using
+ * {@link QueryCostModel}. Introspection fields are ignored.
+ */
+public class QueryCostCalculator {
+
+    public record QueryCost(long cost, int depth) {
+    }
+
+    private final GraphQLSchema schema;
+    private final Map<String, FragmentDefinition> fragments;
+    private final int defaultListSize;
+    private int maxDepth;
+
+    public QueryCostCalculator(GraphQLSchema schema, Map<String, FragmentDefinition> fragments, int defaultListSize) {
+        this.schema = schema;
+        this.fragments = fragments;
+        this.defaultListSize = defaultListSize;
+    }
+
+    public QueryCost calculate(OperationDefinition operation) {
+        maxDepth = 0;
+        GraphQLFieldsContainer rootType = switch (operation.getOperation()) {
+            case MUTATION -> schema.getMutationType();
+            case SUBSCRIPTION -> schema.getSubscriptionType();
+            default -> schema.getQueryType();
+        };
+        var cost = selectionCost(rootType, operation.getSelectionSet(), 1);
+        return new QueryCost(cost, maxDepth);
+    }
+
+    private long selectionCost(GraphQLFieldsContainer parent, SelectionSet selectionSet, int depth) {
+        if (selectionSet == null) {
+            return 0;
+        }
+        long total = 0;
+        for (Selection<?> selection : selectionSet.getSelections()) {
+            if (selection instanceof Field field) {
+                total = saturatedAdd(total, fieldCost(parent, field, depth));
+            } else if (selection instanceof InlineFragment fragment) {
+                var container = fragment.getTypeCondition() != null
+                    ? fieldsContainer(schema.getType(fragment.getTypeCondition().getName()))
+                    : parent;
+                total = saturatedAdd(total, selectionCost(container, fragment.getSelectionSet(), depth));
+            } else if (selection instanceof FragmentSpread spread) {
+                var definition = fragments.get(spread.getName());
+                if (definition != null) {
+                    var container = fieldsContainer(schema.getType(definition.getTypeCondition().getName()));
+                    total = saturatedAdd(total, selectionCost(container, definition.getSelectionSet(), depth));
+                }
+            }
+        }
+        return total;
+    }
+
+    private long fieldCost(GraphQLFieldsContainer parent, Field field, int depth) {
+        if (field.getName().startsWith("__")) {
+            return 0;
+        }
+        maxDepth = Math.max(maxDepth, depth);
+
+        var parentName = parent != null ? parent.getName() : "";
+        var fieldCost = QueryCostModel.costOf(parentName, field.getName());
+        GraphQLFieldDefinition definition = parent != null ? parent.getFieldDefinition(field.getName()) : null;
+        if (definition == null) {
+            return fieldCost.cost();
+        }
+
+        var childCost = selectionCost(fieldsContainer(definition.getType()), field.getSelectionSet(), depth + 1);
+        var multiplier = 1L;
+        if (GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(definition.getType()))) {
+            multiplier = fieldCost.listSize() > 0 ? fieldCost.listSize() : defaultListSize;
+        }
+        return saturatedAdd(fieldCost.cost(), saturatedMultiply(multiplier, childCost));
+    }
+
+    private static GraphQLFieldsContainer fieldsContainer(GraphQLType type) {
+        if (type == null) {
+            return null;
+        }
+        return GraphQLTypeUtil.unwrapAll(type) instanceof GraphQLFieldsContainer container ? container : null;
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        var sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        var high = Math.multiplyHigh(a, b);
+        var low = a * b;
+        return high != 0 || low < 0 ? Long.MAX_VALUE : low;
+    }
+}
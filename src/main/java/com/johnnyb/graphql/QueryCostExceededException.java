@@ -0,0 +1,23 @@
+package com.johnnyb.graphql;
+
+import graphql.execution.AbortExecutionException;
+
+import java.util.Map;
+
+public class QueryCostExceededException extends AbortExecutionException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Map<String, Object> cost;
+
+    public QueryCostExceededException(Map<String, Object> cost) {
+        super(String.format("Query exceeds the allowed budget (cost %s of %s, depth %s of %s)",
+            cost.get("requested"), cost.get("maximum"), cost.get("depth"), cost.get("maxDepth")));
+        this.cost = cost;
+    }
+
+    @Override
+    public Map<String, Object> getExtensions() {
+        return Map.of("code", "QUERY_COST_EXCEEDED", QueryCostInstrumentation.EXTENSION_KEY, cost);
+    }
+}
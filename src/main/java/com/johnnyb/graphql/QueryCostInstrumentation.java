@@ -0,0 +1,102 @@
+package com.johnnyb.graphql;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static graphql.execution.instrumentation.SimpleInstrumentationContext.noOp;
+
+/**
+ * Rejects operations whose static cost or depth exceeds the configured budget before any
+ * resolver runs, and reports the computed cost in the response {@code extensions}.
+ */
+@ApplicationScoped
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final Logger LOG = Logger.getLogger(QueryCostInstrumentation.class);
+    static final String EXTENSION_KEY = "cost";
+
+    @ConfigProperty(name = "graphql.cost.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "graphql.cost.enforce", defaultValue = "true")
+    boolean enforce;
+
+    @ConfigProperty(name = "graphql.cost.max-cost", defaultValue = "500")
+    long maxCost;
+
+    @ConfigProperty(name = "graphql.cost.max-depth", defaultValue = "8")
+    int maxDepth;
+
+    @ConfigProperty(name = "graphql.cost.default-list-size", defaultValue = "10")
+    int defaultListSize;
+
+    static final class CostState implements InstrumentationState {
+        volatile QueryCostCalculator.QueryCost cost;
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return enabled ? new CostState() : null;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        if (!(state instanceof CostState costState)) {
+            return noOp();
+        }
+        var executionContext = parameters.getExecutionContext();
+        var calculator = new QueryCostCalculator(
+            executionContext.getGraphQLSchema(), executionContext.getFragmentsByName(), defaultListSize);
+        var cost = calculator.calculate(executionContext.getOperationDefinition());
+        costState.cost = cost;
+        LOG.debugf("Query cost %d (depth %d) for operation %s", cost.cost(), cost.depth(),
+            executionContext.getOperationDefinition().getName());
+
+        if (cost.cost() > maxCost || cost.depth() > maxDepth) {
+            if (enforce) {
+                LOG.warnf("Rejecting operation %s: cost %d/%d, depth %d/%d",
+                    executionContext.getOperationDefinition().getName(), cost.cost(), maxCost, cost.depth(), maxDepth);
+                throw new QueryCostExceededException(costExtension(cost));
+            }
+            LOG.warnf("Operation %s exceeds budget: cost %d/%d, depth %d/%d",
+                executionContext.getOperationDefinition().getName(), cost.cost(), maxCost, cost.depth(), maxDepth);
+        }
+        return noOp();
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+                                                                        InstrumentationExecutionParameters parameters,
+                                                                        InstrumentationState state) {
+        if (!(state instanceof CostState costState) || costState.cost == null) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+        return CompletableFuture.completedFuture(ExecutionResultImpl.newExecutionResult()
+            .from(executionResult)
+            .addExtension(EXTENSION_KEY, costExtension(costState.cost))
+            .build());
+    }
+
+    private Map<String, Object> costExtension(QueryCostCalculator.QueryCost cost) {
+        var extension = new LinkedHashMap<String, Object>();
+        extension.put("requested", cost.cost());
+        extension.put("maximum", maxCost);
+        extension.put("depth", cost.depth());
+        extension.put("maxDepth", maxDepth);
+        return extension;
+    }
+}
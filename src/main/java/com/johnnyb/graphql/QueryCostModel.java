@@ -0,0 +1,59 @@
+package com.johnnyb.graphql;
+
+import java.util.Map;
+
+/**
+ * Static cost model for the GraphQL schema. Costs approximate DynamoDB work: a full table
+ * scan is expensive, a {@code findById} is cheap and plain properties are free because the
+ * item has already been loaded. List fields multiply the cost of their children by an
+ * estimated result size.
+ */
+public final class QueryCostModel {
+
+    public record FieldCost(int cost, int listSize) {
+        public static final FieldCost FREE = new FieldCost(0, 0);
+    }
+
+    static final int SCAN = 10;
+    static final int GET_ITEM = 1;
+
+    private static final Map<String, FieldCost> FIELD_COSTS = Map.ofEntries(
+        // Queries
+        Map.entry("Query.hotels", new FieldCost(SCAN, 10)),
+        Map.entry("Query.hotel", new FieldCost(GET_ITEM, 0)),
+        Map.entry("Query.hotelsByCity", new FieldCost(SCAN, 5)),
+        Map.entry("Query.hotelsByCountry", new FieldCost(SCAN, 10)),
+        Map.entry("Query.room", new FieldCost(GET_ITEM, 0)),
+        Map.entry("Query.roomsByHotel", new FieldCost(SCAN, 30)),
+        // One rooms scan plus one bookings scan
+        Map.entry("Query.availableRooms", new FieldCost(2 * SCAN, 30)),
+        Map.entry("Query.occupancy", new FieldCost(2 * SCAN, 30)),
+        // One BatchGetItem over the quoted rooms, which graphql.quote.max-rooms caps at 20
+        Map.entry("Query.quote", new FieldCost(GET_ITEM * 5, 0)),
+        Map.entry("Query.booking", new FieldCost(GET_ITEM, 0)),
+        Map.entry("Query.bookingsByCustomer", new FieldCost(SCAN, 20)),
+        Map.entry("Query.upcomingBookings", new FieldCost(SCAN, 200)),
+        Map.entry("Query.customer", new FieldCost(GET_ITEM, 0)),
+        Map.entry("Query.customerByEmail", new FieldCost(SCAN, 0)),
+        // Mutations
+        Map.entry("Mutation.createBooking", new FieldCost(GET_ITEM * 3 + SCAN, 0)),
+        Map.entry("Mutation.cancelBooking", new FieldCost(GET_ITEM * 2, 0)),
+        // Field resolvers
+        Map.entry("Booking.room", new FieldCost(GET_ITEM, 0)),
+        Map.entry("Booking.customer", new FieldCost(GET_ITEM, 0)),
+        Map.entry("Customer.paymentDetails", new FieldCost(GET_ITEM, 0)),
+        // BatchGetItem by the stored bookingIds, shared by all rooms or customers in the response
+        Map.entry("Customer.bookings", new FieldCost(GET_ITEM, 10)),
+        Map.entry("Room.bookings", new FieldCost(GET_ITEM, 10)),
+        // BatchGetItem by the stored roomIds, shared by all hotels in the response
+        Map.entry("Hotel.rooms", new FieldCost(GET_ITEM, 30)),
+        Map.entry("Room.hotel", new FieldCost(GET_ITEM, 0))
+    );
+
+    private QueryCostModel() {
+    }
+
+    public static FieldCost costOf(String typeName, String fieldName) {
+        return FIELD_COSTS.getOrDefault(typeName + "." + fieldName, FieldCost.FREE);
+    }
+}
@@ -1,14 +1,19 @@
 package com.johnnyb.graphql;
 
+import com.johnnyb.model.Booking;
 import com.johnnyb.model.Room;
 import com.johnnyb.model.Hotel;
+import com.johnnyb.service.IBookingService;
 import com.johnnyb.service.IHotelService;
+import jakarta.annotation.security.RolesAllowed;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.graphql.GraphQLApi;
 import org.eclipse.microprofile.graphql.Source;
 import org.jboss.logging.Logger;
 
+import java.util.List;
+
 @GraphQLApi
 @ApplicationScoped
 public class RoomFieldResolver {
@@ -18,8 +23,17 @@ public class RoomFieldResolver {
     @Inject
     IHotelService hotelService;
 
+    @Inject
+    IBookingService bookingService;
+
     public Hotel hotel(@Source Room room) {
         LOG.debugf("Resolving hotel for room %s with hotelId %s", room.getId(), room.getHotelId());
         return hotelService.findById(room.getHotelId()).orElse(null);
     }
+
+    @RolesAllowed("admin")
+    public List<List<Booking>> bookings(@Source List<Room> rooms) {
+        LOG.debugf("Resolving bookings for %d rooms", rooms.size());
+        return ListsByIds.resolve(rooms, Room::getBookingIds, bookingService::findByIds, Booking::getId);
+    }
 }
@@ -0,0 +1,75 @@
+package com.johnnyb.graphql;
+
+import com.johnnyb.telemetry.DynamoDbRequestStats;
+import com.johnnyb.telemetry.GraphQLRequestTimings;
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
+import graphql.language.Document;
+import graphql.validation.ValidationError;
+import io.quarkus.arc.Arc;
+import io.quarkus.vertx.http.runtime.CurrentVertxRequest;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Times the parse, validate and execute phases of each GraphQL request into the
+ * {@link GraphQLRequestTimings} that {@code com.johnnyb.filter.ServerTimingFilter} attached to the
+ * request, along with the DynamoDB time spent while executing.
+ */
+@ApplicationScoped
+public class ServerTimingInstrumentation extends SimplePerformantInstrumentation {
+
+    @ConfigProperty(name = "server-timing.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @Inject
+    CurrentVertxRequest currentRequest;
+
+    @Inject
+    DynamoDbRequestStats dynamoDbStats;
+
+    @Override
+    public InstrumentationContext<Document> beginParse(InstrumentationExecutionParameters parameters,
+                                                       InstrumentationState state) {
+        return timed(GraphQLRequestTimings::recordParse);
+    }
+
+    @Override
+    public InstrumentationContext<List<ValidationError>> beginValidation(InstrumentationValidationParameters parameters,
+                                                                         InstrumentationState state) {
+        return timed(GraphQLRequestTimings::recordValidate);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        return timed((timings, nanos) -> {
+            timings.recordExecute(nanos);
+            if (Arc.container().requestContext().isActive()) {
+                timings.recordDynamoDb((long) (dynamoDbStats.durationMillis() * 1_000_000));
+            }
+        });
+    }
+
+    private <T> InstrumentationContext<T> timed(BiConsumer<GraphQLRequestTimings, Long> recorder) {
+        if (!enabled || !Arc.container().requestContext().isActive()) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        var context = currentRequest.getCurrent();
+        if (context == null || !(context.get(GraphQLRequestTimings.KEY) instanceof GraphQLRequestTimings timings)) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        var start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((result, failure) -> recorder.accept(timings, System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,24 @@
+package com.johnnyb.health;
+
+import com.johnnyb.service.ICacheWarmupService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+@Readiness
+@ApplicationScoped
+public class CacheWarmupHealthCheck implements HealthCheck {
+
+    @Inject
+    ICacheWarmupService cacheWarmup;
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("cache-warmup")
+            .status(cacheWarmup.isComplete())
+            .withData("preloaded", cacheWarmup.preloadedCount())
+            .build();
+    }
+}
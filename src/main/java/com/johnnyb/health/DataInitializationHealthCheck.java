@@ -0,0 +1,31 @@
+package com.johnnyb.health;
+
+import com.johnnyb.service.IDataInitializationService;
+import com.johnnyb.service.IDataInitializationService.Status;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Ready once sample data initialization has finished. A failed initialization is reported in the
+ * data but does not keep the node out of rotation.
+ */
+@Readiness
+@ApplicationScoped
+public class DataInitializationHealthCheck implements HealthCheck {
+
+    @Inject
+    IDataInitializationService dataInitialization;
+
+    @Override
+    public HealthCheckResponse call() {
+        var status = dataInitialization.status();
+        var response = HealthCheckResponse.named("data-initialization")
+            .status(status != Status.PENDING && status != Status.RUNNING)
+            .withData("status", status.name());
+        dataInitialization.progress().forEach(response::withData);
+        return response.build();
+    }
+}
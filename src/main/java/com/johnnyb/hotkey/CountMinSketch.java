@@ -0,0 +1,84 @@
+package com.johnnyb.hotkey;
+
+/**
+ * Fixed-size frequency estimator. Estimates never undercount; they overcount by roughly
+ * {@code total / width} with high probability. Uses conservative update, which only raises the
+ * counters that hold the current minimum and noticeably tightens estimates for skewed traffic.
+ * Not thread-safe.
+ */
+public final class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final long[] counters;
+    private final long[] seeds;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     * @param depth number of rows (independent hash functions)
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("width and depth must be positive");
+        }
+        var rowWidth = Integer.highestOneBit(Math.max(1, width - 1)) << 1;
+        this.depth = depth;
+        this.mask = rowWidth - 1;
+        this.counters = new long[rowWidth * depth];
+        this.seeds = new long[depth];
+        for (int i = 0; i < depth; i++) {
+            seeds[i] = mix(0x9E3779B97F4A7C15L * (i + 1));
+        }
+    }
+
+    /**
+     * Adds {@code count} occurrences of {@code key} and returns its new estimate.
+     */
+    public long add(String key, long count) {
+        var hash = key.hashCode();
+        var estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[index(row, hash)]);
+        }
+        var updated = estimate + count;
+        for (int row = 0; row < depth; row++) {
+            var i = index(row, hash);
+            if (counters[i] < updated) {
+                counters[i] = updated;
+            }
+        }
+        return updated;
+    }
+
+    public long estimate(String key) {
+        var hash = key.hashCode();
+        var estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[index(row, hash)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves every counter so that old traffic fades out.
+     */
+    public void halve() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] >>>= 1;
+        }
+    }
+
+    private int index(int row, int hash) {
+        return row * (mask + 1) + ((int) mix(hash ^ seeds[row]) & mask);
+    }
+
+    private static long mix(long value) {
+        // MurmurHash3 fmix64
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
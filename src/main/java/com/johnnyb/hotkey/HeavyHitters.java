@@ -0,0 +1,70 @@
+package com.johnnyb.hotkey;
+
+import com.johnnyb.model.CompactId;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming top-K over a {@link CountMinSketch}: the sketch counts every key in constant memory and
+ * only the {@code capacity} keys with the highest estimates are kept, as {@link CompactId}s.
+ */
+final class HeavyHitters {
+
+    private final int capacity;
+    private final CountMinSketch sketch;
+    private final Map<CompactId, Long> candidates;
+    private long minCandidate;
+
+    HeavyHitters(int capacity, int width, int depth) {
+        this.capacity = capacity;
+        this.sketch = new CountMinSketch(width, depth);
+        this.candidates = new HashMap<>(capacity * 2);
+    }
+
+    void add(String key) {
+        add(key, 1);
+    }
+
+    synchronized void add(String key, long count) {
+        var estimate = sketch.add(key, count);
+        var id = CompactId.of(key);
+        if (candidates.containsKey(id) || candidates.size() < capacity) {
+            candidates.put(id, estimate);
+            return;
+        }
+        // minCandidate is a lower bound: candidates only grow between decays
+        if (estimate <= minCandidate) {
+            return;
+        }
+        var coldest = coldest();
+        if (estimate > coldest.getValue()) {
+            candidates.remove(coldest.getKey());
+            candidates.put(id, estimate);
+            minCandidate = coldest().getValue();
+        } else {
+            minCandidate = coldest.getValue();
+        }
+    }
+
+    synchronized List<Map.Entry<String, Long>> top(int limit) {
+        var entries = new ArrayList<Map.Entry<String, Long>>(candidates.size());
+        candidates.forEach((id, count) -> entries.add(Map.entry(id.toString(), count)));
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        return entries.size() > limit ? List.copyOf(entries.subList(0, limit)) : entries;
+    }
+
+    synchronized void decay() {
+        sketch.halve();
+        candidates.replaceAll((key, count) -> count >>> 1);
+        candidates.values().removeIf(count -> count == 0);
+        minCandidate = candidates.isEmpty() ? 0 : coldest().getValue();
+    }
+
+    private Map.Entry<CompactId, Long> coldest() {
+        return candidates.entrySet().stream().min(Map.Entry.comparingByValue(Comparator.naturalOrder())).orElseThrow();
+    }
+}
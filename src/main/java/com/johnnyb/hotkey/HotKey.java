@@ -0,0 +1,7 @@
+package com.johnnyb.hotkey;
+
+/**
+ * An id with its estimated access count over the recent, exponentially decayed window.
+ */
+public record HotKey(HotKeyKind kind, String id, long estimatedCount) {
+}
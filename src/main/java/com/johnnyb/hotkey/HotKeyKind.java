@@ -0,0 +1,7 @@
+package com.johnnyb.hotkey;
+
+public enum HotKeyKind {
+    HOTEL,
+    ROOM,
+    CUSTOMER
+}
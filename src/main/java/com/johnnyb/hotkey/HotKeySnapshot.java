@@ -0,0 +1,62 @@
+package com.johnnyb.hotkey;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes hot keys as a small text file, one {@code KIND<TAB>id<TAB>count} line per key.
+ */
+public final class HotKeySnapshot {
+
+    private static final String HEADER = "# otel-motel hot keys v1";
+
+    private HotKeySnapshot() {
+    }
+
+    /**
+     * Replaces {@code file} atomically so a crash mid-write never leaves a truncated snapshot.
+     */
+    public static void write(Path file, List<HotKey> keys) throws IOException {
+        var lines = new ArrayList<String>(keys.size() + 1);
+        lines.add(HEADER);
+        for (var key : keys) {
+            lines.add(key.kind() + "\t" + key.id() + "\t" + key.estimatedCount());
+        }
+        var parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        var temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        Files.write(temp, lines, StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the keys in {@code file}, or an empty list if it does not exist. Malformed lines and
+     * unknown kinds are skipped.
+     */
+    public static List<HotKey> read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        var keys = new ArrayList<HotKey>();
+        for (var line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            var fields = line.split("\t");
+            if (fields.length != 3) {
+                continue;
+            }
+            try {
+                keys.add(new HotKey(HotKeyKind.valueOf(fields[0]), fields[1], Long.parseLong(fields[2])));
+            } catch (IllegalArgumentException e) {
+                // Kind removed or count corrupted; ignore the line
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,133 @@
+package com.johnnyb.hotkey;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableLongGauge;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the most frequently accessed hotel, room and customer ids so hot DynamoDB partitions can
+ * be spotted and caches pre-warmed. Counts are halved every decay interval, so the top keys reflect
+ * recent traffic (a flash sale) rather than all-time totals.
+ */
+@ApplicationScoped
+public class HotKeyTracker implements IHotKeyTracker {
+
+    private static final Logger LOG = Logger.getLogger(HotKeyTracker.class);
+    private static final AttributeKey<String> KIND = AttributeKey.stringKey("hotkey.kind");
+    private static final AttributeKey<String> ID = AttributeKey.stringKey("hotkey.id");
+
+    @ConfigProperty(name = "hotkeys.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "hotkeys.top-k", defaultValue = "50")
+    int topK;
+
+    @ConfigProperty(name = "hotkeys.sketch.width", defaultValue = "2048")
+    int sketchWidth;
+
+    @ConfigProperty(name = "hotkeys.sketch.depth", defaultValue = "4")
+    int sketchDepth;
+
+    @ConfigProperty(name = "hotkeys.decay-interval-seconds", defaultValue = "60")
+    long decayIntervalSeconds;
+
+    @ConfigProperty(name = "hotkeys.metrics.top-n", defaultValue = "10")
+    int metricsTopN;
+
+    @Inject
+    Meter meter;
+
+    private final Map<HotKeyKind, HeavyHitters> trackers = new EnumMap<>(HotKeyKind.class);
+    private ScheduledExecutorService decayExecutor;
+    private ObservableLongGauge gauge;
+
+    @PostConstruct
+    void init() {
+        if (enabled) {
+            for (var kind : HotKeyKind.values()) {
+                trackers.put(kind, new HeavyHitters(topK, sketchWidth, sketchDepth));
+            }
+        }
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            LOG.info("Hot-key tracking is disabled");
+            return;
+        }
+        gauge = meter.gaugeBuilder("hotkeys.estimated_count")
+            .ofLongs()
+            .setDescription("Decayed access count estimate of the hottest hotel, room and customer ids")
+            .buildWithCallback(measurement -> {
+                for (var kind : HotKeyKind.values()) {
+                    for (var key : top(kind, metricsTopN)) {
+                        measurement.record(key.estimatedCount(), Attributes.of(KIND, kind.name(), ID, key.id()));
+                    }
+                }
+            });
+        decayExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "hotkey-decay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        decayExecutor.scheduleAtFixedRate(this::decay, decayIntervalSeconds, decayIntervalSeconds, TimeUnit.SECONDS);
+        LOG.infof("Hot-key tracking enabled (top %d per kind, sketch %dx%d, decay every %ds)",
+            topK, sketchWidth, sketchDepth, decayIntervalSeconds);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (decayExecutor != null) {
+            decayExecutor.shutdownNow();
+        }
+        if (gauge != null) {
+            gauge.close();
+        }
+    }
+
+    @Override
+    public void record(HotKeyKind kind, String id) {
+        var tracker = trackers.get(kind);
+        if (tracker != null && id != null) {
+            tracker.add(id);
+        }
+    }
+
+    @Override
+    public void seed(HotKey key) {
+        var tracker = trackers.get(key.kind());
+        if (tracker != null && key.estimatedCount() > 0) {
+            tracker.add(key.id(), key.estimatedCount());
+        }
+    }
+
+    @Override
+    public List<HotKey> top(HotKeyKind kind, int limit) {
+        var tracker = trackers.get(kind);
+        if (tracker == null) {
+            return List.of();
+        }
+        return tracker.top(limit).stream()
+            .map(entry -> new HotKey(kind, entry.getKey(), entry.getValue()))
+            .toList();
+    }
+
+    private void decay() {
+        trackers.values().forEach(HeavyHitters::decay);
+    }
+}
@@ -0,0 +1,9 @@
+package com.johnnyb.hotkey;
+
+import java.util.List;
+
+public interface IHotKeyTracker {
+    void record(HotKeyKind kind, String id);
+    void seed(HotKey key);
+    List<HotKey> top(HotKeyKind kind, int limit);
+}
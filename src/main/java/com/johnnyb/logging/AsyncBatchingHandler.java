@@ -0,0 +1,243 @@
+package com.johnnyb.logging;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+
+/**
+ * Hands log records to its nested handlers on a background thread. Records are queued in a
+ * preallocated, bounded ring buffer and drained in batches; when the buffer is full the record
+ * is either dropped or the caller blocks for a bounded time, depending on the overflow policy.
+ */
+public class AsyncBatchingHandler extends ExtHandler {
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    private final ExtLogRecord[] ring;
+    private final int mask;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+
+    private final ReentrantLock queueLock = new ReentrantLock();
+    private final Condition notEmpty = queueLock.newCondition();
+    private final Condition notFull = queueLock.newCondition();
+    private final Condition batchDone = queueLock.newCondition();
+    private long head;
+    private long tail;
+    /** Whether the publisher is handing a batch to the nested handlers */
+    private boolean publishing;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private final Thread publisher;
+    private volatile boolean running = true;
+    private volatile boolean suspended;
+
+    public AsyncBatchingHandler(String name, int queueSize, int batchSize, OverflowPolicy overflowPolicy,
+                                long blockTimeoutMillis) {
+        var capacity = Integer.highestOneBit(Math.max(2, queueSize - 1)) << 1;
+        this.ring = new ExtLogRecord[capacity];
+        this.mask = capacity - 1;
+        this.batchSize = Math.max(1, batchSize);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        this.publisher = new Thread(this::drainLoop, name);
+        this.publisher.setDaemon(true);
+    }
+
+    public void start() {
+        publisher.start();
+    }
+
+    @Override
+    protected void doPublish(ExtLogRecord record) {
+        if (!running) {
+            dropped.increment();
+            return;
+        }
+        // Capture MDC/NDC and the formatted message while still on the calling thread
+        record.copyAll();
+
+        queueLock.lock();
+        try {
+            if (tail - head == ring.length && !awaitCapacity()) {
+                dropped.increment();
+                return;
+            }
+            ring[(int) (tail & mask)] = record;
+            tail++;
+            enqueued.increment();
+            notEmpty.signal();
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    private boolean awaitCapacity() {
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            return false;
+        }
+        var remaining = blockTimeoutNanos;
+        try {
+            while (tail - head == ring.length) {
+                if (remaining <= 0 || !running) {
+                    return false;
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drainLoop() {
+        var batch = new ExtLogRecord[batchSize];
+        while (running || size() > 0) {
+            var count = takeBatch(batch);
+            if (count == 0) {
+                continue;
+            }
+            for (int i = 0; i < count; i++) {
+                try {
+                    publishToNestedHandlers(batch[i]);
+                    published.increment();
+                } catch (RuntimeException e) {
+                    reportError("Failed to publish log record", e, ErrorManager.WRITE_FAILURE);
+                }
+                batch[i] = null;
+            }
+            for (Handler handler : getHandlers()) {
+                handler.flush();
+            }
+            finishBatch();
+        }
+    }
+
+    private void finishBatch() {
+        queueLock.lock();
+        try {
+            publishing = false;
+            batchDone.signalAll();
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Stops handing records to the nested handlers and closes them, for example so that no socket
+     * is open during a CRaC checkpoint. Records keep being queued, subject to the overflow policy,
+     * and are published after {@link #resume()}; the nested handlers must reopen on their next
+     * record.
+     */
+    public void suspend() {
+        queueLock.lock();
+        try {
+            suspended = true;
+            while (publishing) {
+                batchDone.awaitUninterruptibly();
+            }
+        } finally {
+            queueLock.unlock();
+        }
+        for (Handler handler : getHandlers()) {
+            handler.close();
+        }
+    }
+
+    public void resume() {
+        suspended = false;
+        queueLock.lock();
+        try {
+            notEmpty.signalAll();
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    private int takeBatch(ExtLogRecord[] batch) {
+        queueLock.lock();
+        try {
+            if ((tail == head || suspended) && running) {
+                notEmpty.await(100, TimeUnit.MILLISECONDS);
+            }
+            if (suspended && running) {
+                return 0;
+            }
+            var count = (int) Math.min(batch.length, tail - head);
+            for (int i = 0; i < count; i++) {
+                var index = (int) (head & mask);
+                batch[i] = ring[index];
+                ring[index] = null;
+                head++;
+            }
+            if (count > 0) {
+                publishing = true;
+                notFull.signalAll();
+            }
+            return count;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+            return 0;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    public int size() {
+        queueLock.lock();
+        try {
+            return (int) (tail - head);
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    public int capacity() {
+        return ring.length;
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void close() throws SecurityException {
+        running = false;
+        queueLock.lock();
+        try {
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            queueLock.unlock();
+        }
+        try {
+            publisher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        super.close();
+    }
+}
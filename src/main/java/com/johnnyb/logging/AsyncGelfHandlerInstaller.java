@@ -0,0 +1,126 @@
+package com.johnnyb.logging;
+
+import biz.paluch.logging.gelf.jul.GelfLogHandler;
+import io.opentelemetry.api.metrics.Meter;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.LogContext;
+
+import java.util.function.Consumer;
+import java.util.logging.Handler;
+
+/**
+ * Moves the GELF handler off the request path: the handler Quarkus configures is wrapped in an
+ * {@link AsyncBatchingHandler} so application threads only enqueue records, and the UDP sends
+ * happen in batches on a single publisher thread. For a CRaC checkpoint the publisher is suspended,
+ * closing the GELF UDP socket, and records logged meanwhile are sent after restore.
+ */
+@ApplicationScoped
+public class AsyncGelfHandlerInstaller implements Resource {
+
+    private static final Logger LOG = Logger.getLogger(AsyncGelfHandlerInstaller.class);
+
+    @ConfigProperty(name = "logging.gelf.async.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "logging.gelf.async.queue-size", defaultValue = "8192")
+    int queueSize;
+
+    @ConfigProperty(name = "logging.gelf.async.batch-size", defaultValue = "256")
+    int batchSize;
+
+    @ConfigProperty(name = "logging.gelf.async.overflow", defaultValue = "drop")
+    String overflow;
+
+    @ConfigProperty(name = "logging.gelf.async.block-timeout-ms", defaultValue = "100")
+    long blockTimeoutMillis;
+
+    @Inject
+    Meter meter;
+
+    private AsyncBatchingHandler asyncHandler;
+
+    void onStart(@Observes @Priority(1) StartupEvent event) {
+        if (!enabled) {
+            LOG.info("Asynchronous GELF logging is disabled");
+            return;
+        }
+        var rootLogger = LogContext.getLogContext().getLogger("");
+        var policy = AsyncBatchingHandler.OverflowPolicy.valueOf(overflow.trim().toUpperCase());
+        var handler = new AsyncBatchingHandler("gelf-async-publisher", queueSize, batchSize, policy, blockTimeoutMillis);
+        if (!wrap(rootLogger.getHandlers(), rootLogger::removeHandler, rootLogger::addHandler, handler)) {
+            LOG.info("No GELF handler configured, asynchronous GELF logging not installed");
+            return;
+        }
+        handler.start();
+        asyncHandler = handler;
+        registerMetrics(handler);
+        // The global context only keeps weak references; this bean keeps the resource alive
+        Core.getGlobalContext().register(this);
+        LOG.infof("Asynchronous GELF logging installed (capacity=%d, batchSize=%d, overflow=%s)",
+            handler.capacity(), batchSize, policy);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (asyncHandler != null) {
+            LOG.infof("Closing asynchronous GELF handler (published=%d, dropped=%d)",
+                asyncHandler.getPublishedCount(), asyncHandler.getDroppedCount());
+            asyncHandler.close();
+        }
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        asyncHandler.suspend();
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        asyncHandler.resume();
+    }
+
+    /**
+     * Quarkus nests the configured handlers inside its delayed root handler, so the GELF handler
+     * is searched for recursively and replaced in whichever handler owns it.
+     */
+    private boolean wrap(Handler[] handlers, Consumer<Handler> remove,
+                         Consumer<Handler> add, AsyncBatchingHandler async) {
+        for (Handler handler : handlers) {
+            if (handler instanceof GelfLogHandler) {
+                async.setLevel(handler.getLevel());
+                async.addHandler(handler);
+                remove.accept(handler);
+                add.accept(async);
+                return true;
+            }
+            if (handler instanceof ExtHandler extHandler
+                    && wrap(extHandler.getHandlers(), extHandler::removeHandler, extHandler::addHandler, async)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void registerMetrics(AsyncBatchingHandler handler) {
+        meter.counterBuilder("logging.gelf.async.published")
+            .setDescription("Log records handed to the GELF handler")
+            .buildWithCallback(measurement -> measurement.record(handler.getPublishedCount()));
+        meter.counterBuilder("logging.gelf.async.dropped")
+            .setDescription("Log records dropped because the GELF queue was full")
+            .buildWithCallback(measurement -> measurement.record(handler.getDroppedCount()));
+        meter.gaugeBuilder("logging.gelf.async.queue.depth")
+            .ofLongs()
+            .setDescription("Log records waiting to be sent to GELF")
+            .buildWithCallback(measurement -> measurement.record(handler.size()));
+    }
+}
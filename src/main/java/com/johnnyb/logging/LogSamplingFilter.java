@@ -0,0 +1,96 @@
+package com.johnnyb.logging;
+
+import io.opentelemetry.api.trace.Span;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.logging.Filter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Bounds log volume without losing the records that matter: WARN and above are always kept, as is
+ * everything logged inside a sampled trace. Other records are limited per logger category to a
+ * fixed number per second and the suppressed ones are counted so they can be summarised. One
+ * instance is shared by all root handlers; each record is decided once and every handler that asks
+ * about it gets the same answer.
+ */
+public class LogSamplingFilter implements Filter {
+
+    private final int recordsPerSecond;
+    private final LongSupplier clockMillis;
+    private final Map<String, CategoryWindow> windows = new ConcurrentHashMap<>();
+
+    private static final class CategoryWindow {
+        long second;
+        int count;
+        long suppressed;
+    }
+
+    // Root handlers are consulted one after another on the logging thread with the same record
+    private static final class LastDecision {
+        LogRecord record;
+        boolean loggable;
+    }
+
+    private final ThreadLocal<LastDecision> lastDecision = ThreadLocal.withInitial(LastDecision::new);
+
+    public LogSamplingFilter(int recordsPerSecond) {
+        this(recordsPerSecond, System::currentTimeMillis);
+    }
+
+    LogSamplingFilter(int recordsPerSecond, LongSupplier clockMillis) {
+        this.recordsPerSecond = recordsPerSecond;
+        this.clockMillis = clockMillis;
+    }
+
+    @Override
+    public boolean isLoggable(LogRecord record) {
+        if (record.getLevel().intValue() >= Level.WARNING.intValue()
+                || Span.current().getSpanContext().isSampled()) {
+            return true;
+        }
+        var last = lastDecision.get();
+        if (last.record != record) {
+            last.record = record;
+            last.loggable = sample(record);
+        }
+        return last.loggable;
+    }
+
+    private boolean sample(LogRecord record) {
+        var category = record.getLoggerName() == null ? "" : record.getLoggerName();
+        var window = windows.computeIfAbsent(category, name -> new CategoryWindow());
+        var second = clockMillis.getAsLong() / 1000;
+        synchronized (window) {
+            if (window.second != second) {
+                window.second = second;
+                window.count = 0;
+            }
+            if (window.count < recordsPerSecond) {
+                window.count++;
+                return true;
+            }
+            window.suppressed++;
+            return false;
+        }
+    }
+
+    /**
+     * Returns the records suppressed per category since the previous call and resets the counts.
+     */
+    public Map<String, Long> drainSuppressed() {
+        var drained = new TreeMap<String, Long>();
+        windows.forEach((category, window) -> {
+            synchronized (window) {
+                if (window.suppressed > 0) {
+                    drained.put(category, window.suppressed);
+                    window.suppressed = 0;
+                }
+            }
+        });
+        return drained;
+    }
+}
@@ -0,0 +1,99 @@
+package com.johnnyb.logging;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.jboss.logmanager.LogContext;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Filter;
+import java.util.logging.Handler;
+
+/**
+ * Installs one {@link LogSamplingFilter} in front of every root handler (console JSON, GELF and
+ * OTLP), so all handlers keep or drop the same records, and periodically logs how many records were
+ * suppressed per category.
+ */
+@ApplicationScoped
+public class LogSamplingInstaller {
+
+    private static final Logger LOG = Logger.getLogger(LogSamplingInstaller.class);
+    private static final AttributeKey<String> CATEGORY = AttributeKey.stringKey("log.category");
+
+    @ConfigProperty(name = "logging.sampling.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "logging.sampling.records-per-second", defaultValue = "50")
+    int recordsPerSecond;
+
+    @ConfigProperty(name = "logging.sampling.summary-interval-seconds", defaultValue = "60")
+    long summaryIntervalSeconds;
+
+    @Inject
+    Meter meter;
+
+    private LogSamplingFilter samplingFilter;
+    private LongCounter suppressedCounter;
+    private ScheduledExecutorService summaryExecutor;
+
+    void onStart(@Observes @Priority(2) StartupEvent event) {
+        if (!enabled) {
+            LOG.info("Log sampling is disabled");
+            return;
+        }
+        samplingFilter = new LogSamplingFilter(recordsPerSecond);
+        for (Handler handler : LogContext.getLogContext().getLogger("").getHandlers()) {
+            handler.setFilter(chain(handler.getFilter(), samplingFilter));
+        }
+
+        suppressedCounter = meter.counterBuilder("logging.records.suppressed")
+            .setDescription("Log records dropped by the sampling filter")
+            .build();
+        summaryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "log-sampling-summary");
+            thread.setDaemon(true);
+            return thread;
+        });
+        summaryExecutor.scheduleAtFixedRate(this::summarize, summaryIntervalSeconds, summaryIntervalSeconds,
+            TimeUnit.SECONDS);
+        LOG.infof("Log sampling installed (%d records/s per category below WARN outside sampled traces)",
+            recordsPerSecond);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (summaryExecutor != null) {
+            summaryExecutor.shutdownNow();
+            summarize();
+        }
+    }
+
+    private void summarize() {
+        var suppressed = samplingFilter.drainSuppressed();
+        if (suppressed.isEmpty()) {
+            return;
+        }
+        suppressed.forEach((category, count) ->
+            suppressedCounter.add(count, Attributes.of(CATEGORY, category)));
+        // WARN so the summary itself is never sampled away
+        LOG.warnf("Log sampling suppressed %d records in the last %ds: %s",
+            suppressed.values().stream().mapToLong(Long::longValue).sum(), summaryIntervalSeconds, suppressed);
+    }
+
+    private static Filter chain(Filter existing, Filter sampling) {
+        if (existing == null) {
+            return sampling;
+        }
+        return record -> existing.isLoggable(record) && sampling.isLoggable(record);
+    }
+}
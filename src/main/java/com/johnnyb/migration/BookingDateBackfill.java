@@ -0,0 +1,157 @@
+package com.johnnyb.migration;
+
+import com.johnnyb.model.AttributeValues;
+import com.johnnyb.model.Booking.DateEncoding;
+import io.opentelemetry.api.metrics.Meter;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rewrites booking dates stored as ISO strings to epoch days. Only items with a string
+ * {@code checkInDate} or {@code checkOutDate} are returned by the scan, and each update is
+ * conditional on the old value so a booking saved concurrently is left alone. Safe to re-run.
+ */
+@ApplicationScoped
+public class BookingDateBackfill implements IBookingDateBackfill {
+
+    private static final Logger LOG = Logger.getLogger(BookingDateBackfill.class);
+    private static final String TABLE_NAME = "bookings";
+    static final List<String> DATE_ATTRIBUTES = List.of("checkInDate", "checkOutDate");
+
+    @ConfigProperty(name = "bookings.date-backfill.on-startup", defaultValue = "false")
+    boolean onStartup;
+
+    @ConfigProperty(name = "bookings.date-backfill.page-size", defaultValue = "100")
+    int pageSize;
+
+    @Inject
+    DynamoDbClient dynamoDb;
+
+    @Inject
+    Meter meter;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong migrated = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+    private volatile String error;
+
+    void onStart(@Observes StartupEvent event) {
+        meter.counterBuilder("bookings.date_backfill.migrated")
+            .setDescription("Bookings whose dates were rewritten from ISO strings to epoch days")
+            .buildWithCallback(measurement -> measurement.record(migrated.get()));
+        if (onStartup) {
+            start();
+        }
+    }
+
+    @Override
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        scanned.set(0);
+        migrated.set(0);
+        conflicts.set(0);
+        error = null;
+        var thread = new Thread(this::run, "booking-date-backfill");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    @Override
+    public Progress progress() {
+        return new Progress(running.get(), scanned.get(), migrated.get(), conflicts.get(), error);
+    }
+
+    private void run() {
+        var start = System.nanoTime();
+        LOG.info("Starting booking date backfill");
+        try {
+            Map<String, AttributeValue> lastKey = null;
+            do {
+                var response = dynamoDb.scan(ScanRequest.builder()
+                    .tableName(TABLE_NAME)
+                    .projectionExpression("id, checkInDate, checkOutDate")
+                    .filterExpression("attribute_type(checkInDate, :s) OR attribute_type(checkOutDate, :s)")
+                    .expressionAttributeValues(Map.of(":s", AttributeValue.builder().s("S").build()))
+                    .limit(pageSize)
+                    .exclusiveStartKey(lastKey)
+                    .build());
+                scanned.addAndGet(response.scannedCount());
+                response.items().forEach(this::migrate);
+                lastKey = response.hasLastEvaluatedKey() ? response.lastEvaluatedKey() : null;
+                LOG.debugf("Booking date backfill: %d scanned, %d migrated", scanned.get(), migrated.get());
+            } while (lastKey != null && !Thread.currentThread().isInterrupted());
+            LOG.infof("Booking date backfill finished in %d ms: %d scanned, %d migrated, %d changed concurrently",
+                (System.nanoTime() - start) / 1_000_000, scanned.get(), migrated.get(), conflicts.get());
+        } catch (RuntimeException e) {
+            error = e.getMessage();
+            LOG.error("Booking date backfill failed", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void migrate(Map<String, AttributeValue> item) {
+        var update = updateFor(item);
+        if (update == null) {
+            return;
+        }
+        try {
+            dynamoDb.updateItem(update);
+            migrated.incrementAndGet();
+        } catch (ConditionalCheckFailedException e) {
+            // Rewritten or deleted since the scan
+            conflicts.incrementAndGet();
+        }
+    }
+
+    /** Builds the conditional update for the string-encoded dates of a scanned item, or null if there are none. */
+    static UpdateItemRequest updateFor(Map<String, AttributeValue> item) {
+        var sets = new ArrayList<String>();
+        var conditions = new ArrayList<String>();
+        var names = new HashMap<String, String>();
+        var values = new HashMap<String, AttributeValue>();
+        for (var i = 0; i < DATE_ATTRIBUTES.size(); i++) {
+            var attribute = DATE_ATTRIBUTES.get(i);
+            var value = item.get(attribute);
+            if (value == null || value.s() == null) {
+                continue;
+            }
+            names.put("#d" + i, attribute);
+            values.put(":old" + i, value);
+            values.put(":new" + i, AttributeValues.fromDate(AttributeValues.toDate(value), DateEncoding.EPOCH_DAY));
+            sets.add("#d" + i + " = :new" + i);
+            conditions.add("#d" + i + " = :old" + i);
+        }
+        if (sets.isEmpty()) {
+            return null;
+        }
+        return UpdateItemRequest.builder()
+            .tableName(TABLE_NAME)
+            .key(Map.of("id", item.get("id")))
+            .updateExpression("SET " + String.join(", ", sets))
+            .conditionExpression(String.join(" AND ", conditions))
+            .expressionAttributeNames(names)
+            .expressionAttributeValues(values)
+            .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.johnnyb.migration;
+
+import com.johnnyb.service.ICustomerService;
+import io.opentelemetry.api.metrics.Meter;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves card attributes still stored on customer items to the payments table. Only customers with a
+ * {@code creditCardNumber} are returned by the scan; details already saved to the payments table are
+ * kept. Safe to re-run.
+ */
+@ApplicationScoped
+public class CustomerPaymentBackfill implements ICustomerPaymentBackfill {
+
+    private static final Logger LOG = Logger.getLogger(CustomerPaymentBackfill.class);
+    private static final String TABLE_NAME = "customers";
+
+    @ConfigProperty(name = "customers.payment-backfill.on-startup", defaultValue = "false")
+    boolean onStartup;
+
+    @ConfigProperty(name = "customers.payment-backfill.page-size", defaultValue = "100")
+    int pageSize;
+
+    @Inject
+    DynamoDbClient dynamoDb;
+
+    @Inject
+    ICustomerService customerService;
+
+    @Inject
+    Meter meter;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong migrated = new AtomicLong();
+    private volatile String error;
+
+    void onStart(@Observes StartupEvent event) {
+        meter.counterBuilder("customers.payment_backfill.migrated")
+            .setDescription("Customers whose card attributes were moved to the payments table")
+            .buildWithCallback(measurement -> measurement.record(migrated.get()));
+        if (onStartup) {
+            start();
+        }
+    }
+
+    @Override
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        scanned.set(0);
+        migrated.set(0);
+        error = null;
+        var thread = new Thread(this::run, "customer-payment-backfill");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    @Override
+    public Progress progress() {
+        return new Progress(running.get(), scanned.get(), migrated.get(), error);
+    }
+
+    private void run() {
+        var start = System.nanoTime();
+        LOG.info("Starting customer payment backfill");
+        try {
+            Map<String, AttributeValue> lastKey = null;
+            do {
+                var response = dynamoDb.scan(ScanRequest.builder()
+                    .tableName(TABLE_NAME)
+                    .projectionExpression("id")
+                    .filterExpression("attribute_exists(creditCardNumber)")
+                    .limit(pageSize)
+                    .exclusiveStartKey(lastKey)
+                    .build());
+                scanned.addAndGet(response.scannedCount());
+                for (var item : response.items()) {
+                    // False when a read has moved them since the scan
+                    if (customerService.moveLegacyPaymentDetails(item.get("id").s())) {
+                        migrated.incrementAndGet();
+                    }
+                }
+                lastKey = response.hasLastEvaluatedKey() ? response.lastEvaluatedKey() : null;
+                LOG.debugf("Customer payment backfill: %d scanned, %d migrated", scanned.get(), migrated.get());
+            } while (lastKey != null && !Thread.currentThread().isInterrupted());
+            LOG.infof("Customer payment backfill finished in %d ms: %d scanned, %d migrated",
+                (System.nanoTime() - start) / 1_000_000, scanned.get(), migrated.get());
+        } catch (RuntimeException e) {
+            error = e.getMessage();
+            LOG.error("Customer payment backfill failed", e);
+        } finally {
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.johnnyb.migration;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * {@code POST /admin/migrations/customer-payments} starts the backfill in the background and
+ * {@code GET /admin/migrations/customer-payments} reports its progress (admin role).
+ */
+@ApplicationScoped
+public class CustomerPaymentBackfillRoutes {
+
+    private static final String PATH = "/admin/migrations/customer-payments";
+
+    @Inject
+    ICustomerPaymentBackfill backfill;
+
+    void init(@Observes Router router) {
+        router.post(PATH).handler(this::start);
+        router.get(PATH).handler(this::progress);
+    }
+
+    private void start(RoutingContext context) {
+        if (!backfill.start()) {
+            context.response().setStatusCode(409).end("Backfill already running");
+            return;
+        }
+        context.response().setStatusCode(202).end("Backfill started");
+    }
+
+    private void progress(RoutingContext context) {
+        var progress = backfill.progress();
+        context.response()
+            .putHeader("Content-Type", "application/json")
+            .end(new JsonObject()
+                .put("running", progress.running())
+                .put("scanned", progress.scanned())
+                .put("migrated", progress.migrated())
+                .put("error", progress.error())
+                .encode());
+    }
+}
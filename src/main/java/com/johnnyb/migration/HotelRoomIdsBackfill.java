@@ -0,0 +1,143 @@
+package com.johnnyb.migration;
+
+import com.johnnyb.service.IHotelService;
+import io.opentelemetry.api.metrics.Meter;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rebuilds {@code Hotel.roomIds} from the rooms table for hotels written before RoomService kept it
+ * in step. Each page of rooms is added to their hotels' sets, so concurrent room writes are not
+ * lost; rooms of hotels that no longer exist are counted as orphans. Safe to re-run.
+ */
+@ApplicationScoped
+public class HotelRoomIdsBackfill implements IHotelRoomIdsBackfill {
+
+    private static final Logger LOG = Logger.getLogger(HotelRoomIdsBackfill.class);
+    private static final String ROOMS_TABLE_NAME = "rooms";
+    private static final String HOTELS_TABLE_NAME = "hotels";
+
+    @ConfigProperty(name = "hotels.room-ids-backfill.on-startup", defaultValue = "false")
+    boolean onStartup;
+
+    @ConfigProperty(name = "hotels.room-ids-backfill.page-size", defaultValue = "100")
+    int pageSize;
+
+    @Inject
+    DynamoDbClient dynamoDb;
+
+    @Inject
+    IHotelService hotelService;
+
+    @Inject
+    Meter meter;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong hotels = new AtomicLong();
+    private final AtomicLong orphans = new AtomicLong();
+    private volatile String error;
+
+    void onStart(@Observes StartupEvent event) {
+        meter.counterBuilder("hotels.room_ids_backfill.updated")
+            .setDescription("Hotel roomIds updates written by the room ids backfill")
+            .buildWithCallback(measurement -> measurement.record(hotels.get()));
+        if (onStartup) {
+            start();
+        }
+    }
+
+    @Override
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        scanned.set(0);
+        hotels.set(0);
+        orphans.set(0);
+        error = null;
+        var thread = new Thread(this::run, "hotel-room-ids-backfill");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    @Override
+    public Progress progress() {
+        return new Progress(running.get(), scanned.get(), hotels.get(), orphans.get(), error);
+    }
+
+    private void run() {
+        var start = System.nanoTime();
+        LOG.info("Starting hotel room ids backfill");
+        try {
+            Map<String, AttributeValue> lastKey = null;
+            do {
+                var response = dynamoDb.scan(ScanRequest.builder()
+                    .tableName(ROOMS_TABLE_NAME)
+                    .projectionExpression("id, hotelId")
+                    .filterExpression("attribute_exists(hotelId)")
+                    .limit(pageSize)
+                    .exclusiveStartKey(lastKey)
+                    .build());
+                scanned.addAndGet(response.scannedCount());
+                roomIdsByHotel(response.items()).forEach(this::addRoomIds);
+                lastKey = response.hasLastEvaluatedKey() ? response.lastEvaluatedKey() : null;
+                LOG.debugf("Hotel room ids backfill: %d scanned, %d hotel updates", scanned.get(), hotels.get());
+            } while (lastKey != null && !Thread.currentThread().isInterrupted());
+            LOG.infof("Hotel room ids backfill finished in %d ms: %d scanned, %d hotel updates, %d orphaned rooms",
+                (System.nanoTime() - start) / 1_000_000, scanned.get(), hotels.get(), orphans.get());
+        } catch (RuntimeException e) {
+            error = e.getMessage();
+            LOG.error("Hotel room ids backfill failed", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void addRoomIds(String hotelId, List<String> roomIds) {
+        try {
+            dynamoDb.updateItem(updateFor(hotelId, roomIds));
+            hotels.incrementAndGet();
+            hotelService.evict(hotelId);
+        } catch (ConditionalCheckFailedException e) {
+            orphans.addAndGet(roomIds.size());
+        }
+    }
+
+    static Map<String, List<String>> roomIdsByHotel(Collection<Map<String, AttributeValue>> rooms) {
+        var byHotel = new HashMap<String, List<String>>();
+        for (var room : rooms) {
+            byHotel.computeIfAbsent(room.get("hotelId").s(), hotelId -> new ArrayList<>()).add(room.get("id").s());
+        }
+        return byHotel;
+    }
+
+    /** Adds the room ids to the hotel's roomIds set, provided the hotel exists. */
+    static UpdateItemRequest updateFor(String hotelId, List<String> roomIds) {
+        return UpdateItemRequest.builder()
+            .tableName(HOTELS_TABLE_NAME)
+            .key(Map.of("id", AttributeValue.builder().s(hotelId).build()))
+            .updateExpression("ADD roomIds :rooms")
+            .conditionExpression("attribute_exists(id)")
+            .expressionAttributeValues(Map.of(":rooms", AttributeValue.builder().ss(roomIds).build()))
+            .build();
+    }
+}
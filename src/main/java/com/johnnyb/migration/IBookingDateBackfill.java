@@ -0,0 +1,10 @@
+package com.johnnyb.migration;
+
+public interface IBookingDateBackfill {
+
+    record Progress(boolean running, long scanned, long migrated, long conflicts, String error) {
+    }
+
+    boolean start();
+    Progress progress();
+}
@@ -0,0 +1,10 @@
+package com.johnnyb.migration;
+
+public interface ICustomerPaymentBackfill {
+
+    record Progress(boolean running, long scanned, long migrated, String error) {
+    }
+
+    boolean start();
+    Progress progress();
+}
@@ -0,0 +1,10 @@
+package com.johnnyb.migration;
+
+public interface IHotelRoomIdsBackfill {
+
+    record Progress(boolean running, long scanned, long hotels, long orphans, String error) {
+    }
+
+    boolean start();
+    Progress progress();
+}
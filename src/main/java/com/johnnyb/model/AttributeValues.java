@@ -0,0 +1,92 @@
+package com.johnnyb.model;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes the attribute types used by the models. Setters skip {@code null}s, and getters
+ * return {@code null} for a missing attribute.
+ */
+public final class AttributeValues {
+
+    private AttributeValues() {
+    }
+
+    static void putString(Map<String, AttributeValue> item, String name, String value) {
+        if (value != null) {
+            item.put(name, AttributeValue.builder().s(value).build());
+        }
+    }
+
+    static String getString(Map<String, AttributeValue> item, String name) {
+        var value = item.get(name);
+        return value != null ? value.s() : null;
+    }
+
+    static void putInteger(Map<String, AttributeValue> item, String name, Integer value) {
+        if (value != null) {
+            item.put(name, AttributeValue.builder().n(value.toString()).build());
+        }
+    }
+
+    static Integer getInteger(Map<String, AttributeValue> item, String name) {
+        var value = item.get(name);
+        return value != null && value.n() != null ? Integer.valueOf(value.n()) : null;
+    }
+
+    /** Empty lists are skipped too, since DynamoDB rejects empty sets. */
+    static void putStringSet(Map<String, AttributeValue> item, String name, List<String> value) {
+        if (value != null && !value.isEmpty()) {
+            item.put(name, AttributeValue.builder().ss(value).build());
+        }
+    }
+
+    static List<String> getStringSet(Map<String, AttributeValue> item, String name) {
+        var value = item.get(name);
+        return value != null && value.hasSs() ? new ArrayList<>(value.ss()) : null;
+    }
+
+    static <E extends Enum<E>> void putEnum(Map<String, AttributeValue> item, String name, E value) {
+        if (value != null) {
+            item.put(name, AttributeValue.builder().s(value.name()).build());
+        }
+    }
+
+    static <E extends Enum<E>> E getEnum(Map<String, AttributeValue> item, String name, Class<E> type) {
+        var value = getString(item, name);
+        return value != null ? Enum.valueOf(type, value) : null;
+    }
+
+    /** Money in minor units, stored as a plain decimal {@code N} such as {@code 120.00}. */
+    static void putMoney(Map<String, AttributeValue> item, String name, long minor) {
+        if (minor != Money.NONE) {
+            item.put(name, AttributeValue.builder().n(Money.toPlainString(minor)).build());
+        }
+    }
+
+    static long getMoney(Map<String, AttributeValue> item, String name) {
+        var value = item.get(name);
+        return value != null && value.n() != null ? Money.parse(value.n()) : Money.NONE;
+    }
+
+    public static AttributeValue fromDate(LocalDate date, Booking.DateEncoding encoding) {
+        return encoding == Booking.DateEncoding.ISO_STRING
+            ? AttributeValue.builder().s(date.toString()).build()
+            : AttributeValue.builder().n(Long.toString(date.toEpochDay())).build();
+    }
+
+    /** Reads both epoch-day numbers and legacy ISO strings. */
+    public static LocalDate toDate(AttributeValue value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.n() != null) {
+            return LocalDate.ofEpochDay(Long.parseLong(value.n()));
+        }
+        return value.s() != null ? LocalDate.parse(value.s()) : null;
+    }
+}
@@ -0,0 +1,106 @@
+package com.johnnyb.model;
+
+/**
+ * Entity id for process-local caches and indexes. Canonical lowercase UUID strings, the form used
+ * for every generated id, are held as two longs (32 bytes instead of about 80 for the
+ * {@code String}); any other id is kept as is. Convert back with {@link #toString()} at the
+ * persistence and GraphQL boundaries.
+ */
+public final class CompactId {
+
+    private static final int UUID_LENGTH = 36;
+
+    private final long high;
+    private final long low;
+    private final String other;
+
+    private CompactId(long high, long low, String other) {
+        this.high = high;
+        this.low = low;
+        this.other = other;
+    }
+
+    public static CompactId of(String id) {
+        if (id.length() == UUID_LENGTH) {
+            var high = parseHex(id, 0, 8);
+            var mid = parseHex(id, 9, 13);
+            var version = parseHex(id, 14, 18);
+            var variant = parseHex(id, 19, 23);
+            var node = parseHex(id, 24, 36);
+            if ((high | mid | version | variant | node) >= 0
+                    && id.charAt(8) == '-' && id.charAt(13) == '-' && id.charAt(18) == '-' && id.charAt(23) == '-') {
+                return new CompactId(high << 32 | mid << 16 | version, variant << 48 | node, null);
+            }
+        }
+        return new CompactId(0, 0, id);
+    }
+
+    public boolean isUuid() {
+        return other == null;
+    }
+
+    /** Parses lowercase hex digits, or returns -1 if there are others */
+    private static long parseHex(String text, int from, int to) {
+        long value = 0;
+        for (var i = from; i < to; i++) {
+            var c = text.charAt(i);
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                digit = c - 'a' + 10;
+            } else {
+                return -1;
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompactId that)) {
+            return false;
+        }
+        return other == null
+            ? that.other == null && high == that.high && low == that.low
+            : other.equals(that.other);
+    }
+
+    @Override
+    public int hashCode() {
+        if (other != null) {
+            return other.hashCode();
+        }
+        var hash = high ^ low;
+        return (int) (hash ^ hash >>> 32);
+    }
+
+    @Override
+    public String toString() {
+        if (other != null) {
+            return other;
+        }
+        var chars = new char[UUID_LENGTH];
+        writeHex(chars, 0, high >>> 32, 8);
+        chars[8] = '-';
+        writeHex(chars, 9, high >>> 16, 4);
+        chars[13] = '-';
+        writeHex(chars, 14, high, 4);
+        chars[18] = '-';
+        writeHex(chars, 19, low >>> 48, 4);
+        chars[23] = '-';
+        writeHex(chars, 24, low, 12);
+        return new String(chars);
+    }
+
+    private static void writeHex(char[] chars, int offset, long value, int digits) {
+        for (var i = digits - 1; i >= 0; i--) {
+            chars[offset + i] = Character.forDigit((int) (value & 0xF), 16);
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.johnnyb.model;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.johnnyb.model.AttributeValues.*;
+
+final class CustomerItemMapper implements ItemMapper<Customer> {
+
+    private static final List<String> ATTRIBUTES = List.of("id", "firstName", "lastName", "email", "phone",
+        "address", "bookingIds");
+
+    @Override
+    public List<String> attributeNames() {
+        return ATTRIBUTES;
+    }
+
+    @Override
+    public Map<String, AttributeValue> toItem(Customer customer) {
+        var item = new HashMap<String, AttributeValue>(16);
+        putString(item, "id", customer.getId());
+        putString(item, "firstName", customer.getFirstName());
+        putString(item, "lastName", customer.getLastName());
+        putString(item, "email", customer.getEmail());
+        putString(item, "phone", customer.getPhone());
+        putString(item, "address", customer.getAddress());
+        putStringSet(item, "bookingIds", customer.getBookingIds());
+        return item;
+    }
+
+    @Override
+    public Customer fromItem(Map<String, AttributeValue> item) {
+        var customer = new Customer();
+        customer.setId(getString(item, "id"));
+        customer.setFirstName(getString(item, "firstName"));
+        customer.setLastName(getString(item, "lastName"));
+        customer.setEmail(getString(item, "email"));
+        customer.setPhone(getString(item, "phone"));
+        customer.setAddress(getString(item, "address"));
+        customer.setBookingIds(getStringSet(item, "bookingIds"));
+        return customer;
+    }
+}
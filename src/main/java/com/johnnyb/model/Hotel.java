@@ -6,11 +6,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.util.List;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags;
-import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter;
-import software.amazon.awssdk.enhanced.dynamodb.AttributeValueType;
-import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
-import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
 
 @Data
 @Builder
@@ -52,37 +47,6 @@ public class Hotel {
     public List<String> getRoomIds() { return roomIds; }
     public void setRoomIds(List<String> roomIds) { this.roomIds = roomIds; }
 
-    public static final class StringListConverter implements AttributeConverter<List<String>> {
-        @Override
-        public AttributeValue transformFrom(List<String> input) {
-            return AttributeValue.builder().ss(input).build();
-        }
-        @Override
-        public List<String> transformTo(AttributeValue input) {
-            return input.ss();
-        }
-        @Override
-        public EnhancedType<List<String>> type() {
-            return EnhancedType.listOf(String.class);
-        }
-        @Override
-        public AttributeValueType attributeValueType() {
-            return AttributeValueType.SS;
-        }
-    }
-
-    public static final TableSchema<Hotel> HOTEL_TABLE_SCHEMA = TableSchema.builder(Hotel.class)
-        .newItemSupplier(Hotel::new)
-        .addAttribute(String.class, a -> a.name("id").getter(Hotel::getId).setter(Hotel::setId).tags(StaticAttributeTags.primaryPartitionKey()))
-        .addAttribute(String.class, a -> a.name("name").getter(Hotel::getName).setter(Hotel::setName))
-        .addAttribute(String.class, a -> a.name("address").getter(Hotel::getAddress).setter(Hotel::setAddress))
-        .addAttribute(String.class, a -> a.name("city").getter(Hotel::getCity).setter(Hotel::setCity))
-        .addAttribute(String.class, a -> a.name("state").getter(Hotel::getState).setter(Hotel::setState))
-        .addAttribute(String.class, a -> a.name("zipCode").getter(Hotel::getZipCode).setter(Hotel::setZipCode))
-        .addAttribute(String.class, a -> a.name("country").getter(Hotel::getCountry).setter(Hotel::setCountry))
-        .addAttribute(String.class, a -> a.name("phone").getter(Hotel::getPhone).setter(Hotel::setPhone))
-        .addAttribute(String.class, a -> a.name("description").getter(Hotel::getDescription).setter(Hotel::setDescription))
-        .addAttribute(Integer.class, a -> a.name("starRating").getter(Hotel::getStarRating).setter(Hotel::setStarRating))
-        .addAttribute(EnhancedType.listOf(String.class), a -> a.name("roomIds").getter(Hotel::getRoomIds).setter(Hotel::setRoomIds).attributeConverter(new StringListConverter()))
-        .build();
+    public static final TableSchema<Hotel> HOTEL_TABLE_SCHEMA =
+        new ItemMapperTableSchema<>(Hotel.class, "id", new HotelItemMapper());
 }
@@ -0,0 +1,54 @@
+package com.johnnyb.model;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.johnnyb.model.AttributeValues.*;
+
+final class HotelItemMapper implements ItemMapper<Hotel> {
+
+    private static final List<String> ATTRIBUTES = List.of("id", "name", "address", "city", "state", "zipCode",
+        "country", "phone", "description", "starRating", "roomIds");
+
+    @Override
+    public List<String> attributeNames() {
+        return ATTRIBUTES;
+    }
+
+    @Override
+    public Map<String, AttributeValue> toItem(Hotel hotel) {
+        var item = new HashMap<String, AttributeValue>(16);
+        putString(item, "id", hotel.getId());
+        putString(item, "name", hotel.getName());
+        putString(item, "address", hotel.getAddress());
+        putString(item, "city", hotel.getCity());
+        putString(item, "state", hotel.getState());
+        putString(item, "zipCode", hotel.getZipCode());
+        putString(item, "country", hotel.getCountry());
+        putString(item, "phone", hotel.getPhone());
+        putString(item, "description", hotel.getDescription());
+        putInteger(item, "starRating", hotel.getStarRating());
+        putStringSet(item, "roomIds", hotel.getRoomIds());
+        return item;
+    }
+
+    @Override
+    public Hotel fromItem(Map<String, AttributeValue> item) {
+        var hotel = new Hotel();
+        hotel.setId(getString(item, "id"));
+        hotel.setName(getString(item, "name"));
+        hotel.setAddress(getString(item, "address"));
+        hotel.setCity(getString(item, "city"));
+        hotel.setState(getString(item, "state"));
+        hotel.setZipCode(getString(item, "zipCode"));
+        hotel.setCountry(getString(item, "country"));
+        hotel.setPhone(getString(item, "phone"));
+        hotel.setDescription(getString(item, "description"));
+        hotel.setStarRating(getInteger(item, "starRating"));
+        hotel.setRoomIds(getStringSet(item, "roomIds"));
+        return hotel;
+    }
+}
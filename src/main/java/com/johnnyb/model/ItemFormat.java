@@ -0,0 +1,12 @@
+package com.johnnyb.model;
+
+/**
+ * How non-key attributes of an item are written. Tables that support {@link #COMPACT} read both
+ * formats, so the setting can be changed at any time; items are converted as they are saved.
+ */
+public enum ItemFormat {
+    /** One named DynamoDB attribute per field */
+    ATTRIBUTES,
+    /** Key and index attributes stay native, everything else goes into one versioned binary attribute */
+    COMPACT
+}
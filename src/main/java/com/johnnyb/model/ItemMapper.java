@@ -0,0 +1,16 @@
+package com.johnnyb.model;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts one model class to and from a DynamoDB item by calling its accessors directly. Absent
+ * values are left out of the item rather than written as {@code NULL}.
+ */
+public interface ItemMapper<T> {
+    List<String> attributeNames();
+    Map<String, AttributeValue> toItem(T value);
+    T fromItem(Map<String, AttributeValue> item);
+}
@@ -0,0 +1,81 @@
+package com.johnnyb.model;
+
+import software.amazon.awssdk.enhanced.dynamodb.AttributeValueType;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableMetadata;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes an {@link ItemMapper} to the enhanced client. Unlike a {@code StaticTableSchema} there is
+ * no per-attribute getter/setter/converter chain; each item is converted in one pass by the mapper.
+ */
+public final class ItemMapperTableSchema<T> implements TableSchema<T> {
+
+    private final EnhancedType<T> itemType;
+    private final ItemMapper<T> mapper;
+    private final TableMetadata tableMetadata;
+
+    public ItemMapperTableSchema(Class<T> itemClass, String partitionKey, ItemMapper<T> mapper) {
+        this.itemType = EnhancedType.of(itemClass);
+        this.mapper = mapper;
+        this.tableMetadata = StaticTableMetadata.builder()
+            .addIndexPartitionKey(TableMetadata.primaryIndexName(), partitionKey, AttributeValueType.S)
+            .build();
+    }
+
+    @Override
+    public T mapToItem(Map<String, AttributeValue> item) {
+        return item == null ? null : mapper.fromItem(item);
+    }
+
+    /** Absent values are always omitted, whatever {@code ignoreNulls} says. */
+    @Override
+    public Map<String, AttributeValue> itemToMap(T item, boolean ignoreNulls) {
+        return mapper.toItem(item);
+    }
+
+    @Override
+    public Map<String, AttributeValue> itemToMap(T item, Collection<String> attributes) {
+        var all = mapper.toItem(item);
+        var selected = new HashMap<String, AttributeValue>(attributes.size());
+        for (var name : attributes) {
+            var value = all.get(name);
+            if (value != null) {
+                selected.put(name, value);
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public AttributeValue attributeValue(T item, String attributeName) {
+        return mapper.toItem(item).get(attributeName);
+    }
+
+    @Override
+    public TableMetadata tableMetadata() {
+        return tableMetadata;
+    }
+
+    @Override
+    public EnhancedType<T> itemType() {
+        return itemType;
+    }
+
+    @Override
+    public List<String> attributeNames() {
+        return mapper.attributeNames();
+    }
+
+    @Override
+    public boolean isAbstract() {
+        return false;
+    }
+}
@@ -0,0 +1,103 @@
+package com.johnnyb.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money as a {@code long} count of minor units (cents). Prices are kept in this form
+ * from DynamoDB through the pricing arithmetic, so quotes allocate nothing; {@link BigDecimal} is
+ * only created at the GraphQL boundary. Items keep storing plain decimal strings such as
+ * {@code "120.00"}.
+ */
+public final class Money {
+
+    /** Marks an absent amount in a primitive field */
+    public static final long NONE = Long.MIN_VALUE;
+    public static final int SCALE = 2;
+    private static final long MINOR_PER_MAJOR = 100;
+
+    private Money() {
+    }
+
+    public static long ofMajor(long major) {
+        return Math.multiplyExact(major, MINOR_PER_MAJOR);
+    }
+
+    public static long times(long minor, long quantity) {
+        return Math.multiplyExact(minor, quantity);
+    }
+
+    public static long plus(long minor, long otherMinor) {
+        return Math.addExact(minor, otherMinor);
+    }
+
+    /** Rounds half-up to cents; {@code null} becomes {@link #NONE}. */
+    public static long fromBigDecimal(BigDecimal amount) {
+        if (amount == null) {
+            return NONE;
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long minor) {
+        return minor == NONE ? null : BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /**
+     * Parses a plain decimal string such as {@code "199.99"}, {@code "120"} or {@code "-0.5"}
+     * without going through {@link BigDecimal}. Extra fraction digits are rounded half-up.
+     */
+    public static long parse(CharSequence text) {
+        var length = text.length();
+        var i = 0;
+        var negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            i++;
+        }
+        if (i == length) {
+            throw new NumberFormatException("Not a decimal amount: " + text);
+        }
+        long minor = 0;
+        var fractionDigits = -1;
+        var dropped = 0;
+        var roundUp = false;
+        for (; i < length; i++) {
+            var c = text.charAt(i);
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            if (c == 'e' || c == 'E') {
+                // Scientific notation only comes from BigDecimal.toString() of very small or large values
+                return fromBigDecimal(new BigDecimal(text.toString()));
+            }
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("Not a decimal amount: " + text);
+            }
+            if (fractionDigits == SCALE) {
+                roundUp = dropped++ == 0 ? c >= '5' : roundUp;
+                continue;
+            }
+            minor = Math.addExact(Math.multiplyExact(minor, 10), c - '0');
+            if (fractionDigits >= 0) {
+                fractionDigits++;
+            }
+        }
+        for (var d = Math.max(fractionDigits, 0); d < SCALE; d++) {
+            minor = Math.multiplyExact(minor, 10);
+        }
+        if (roundUp) {
+            minor = Math.addExact(minor, 1);
+        }
+        return negative ? -minor : minor;
+    }
+
+    /** Formats as a plain decimal string with two fraction digits, the format stored in DynamoDB. */
+    public static String toPlainString(long minor) {
+        var major = minor / MINOR_PER_MAJOR;
+        var cents = Math.abs(minor % MINOR_PER_MAJOR);
+        var sign = minor < 0 && major == 0 ? "-" : "";
+        return sign + major + (cents < 10 ? ".0" : ".") + cents;
+    }
+}
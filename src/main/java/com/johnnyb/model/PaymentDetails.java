@@ -0,0 +1,34 @@
+package com.johnnyb.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+
+/**
+ * A customer's card details, stored apart from the {@link Customer} item so that customer reads,
+ * scans and the entity cache never carry them. Loaded only when explicitly requested.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentDetails {
+    private String customerId;
+    private String creditCardNumber;
+    private String creditCardExpiry;
+    private String creditCardCvv;
+
+    public String getCustomerId() { return customerId; }
+    public void setCustomerId(String customerId) { this.customerId = customerId; }
+    public String getCreditCardNumber() { return creditCardNumber; }
+    public void setCreditCardNumber(String creditCardNumber) { this.creditCardNumber = creditCardNumber; }
+    public String getCreditCardExpiry() { return creditCardExpiry; }
+    public void setCreditCardExpiry(String creditCardExpiry) { this.creditCardExpiry = creditCardExpiry; }
+    public String getCreditCardCvv() { return creditCardCvv; }
+    public void setCreditCardCvv(String creditCardCvv) { this.creditCardCvv = creditCardCvv; }
+
+    public static final TableSchema<PaymentDetails> PAYMENT_DETAILS_TABLE_SCHEMA =
+        new ItemMapperTableSchema<>(PaymentDetails.class, "customerId", new PaymentDetailsItemMapper());
+}
@@ -0,0 +1,40 @@
+package com.johnnyb.model;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.johnnyb.model.AttributeValues.*;
+
+final class PaymentDetailsItemMapper implements ItemMapper<PaymentDetails> {
+
+    private static final List<String> ATTRIBUTES = List.of("customerId", "creditCardNumber", "creditCardExpiry",
+        "creditCardCvv");
+
+    @Override
+    public List<String> attributeNames() {
+        return ATTRIBUTES;
+    }
+
+    @Override
+    public Map<String, AttributeValue> toItem(PaymentDetails details) {
+        var item = new HashMap<String, AttributeValue>(8);
+        putString(item, "customerId", details.getCustomerId());
+        putString(item, "creditCardNumber", details.getCreditCardNumber());
+        putString(item, "creditCardExpiry", details.getCreditCardExpiry());
+        putString(item, "creditCardCvv", details.getCreditCardCvv());
+        return item;
+    }
+
+    @Override
+    public PaymentDetails fromItem(Map<String, AttributeValue> item) {
+        var details = new PaymentDetails();
+        details.setCustomerId(getString(item, "customerId"));
+        details.setCreditCardNumber(getString(item, "creditCardNumber"));
+        details.setCreditCardExpiry(getString(item, "creditCardExpiry"));
+        details.setCreditCardCvv(getString(item, "creditCardCvv"));
+        return details;
+    }
+}
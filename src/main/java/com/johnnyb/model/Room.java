@@ -4,16 +4,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.eclipse.microprofile.graphql.Ignore;
 
 import java.math.BigDecimal;
 import java.util.List;
 
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags;
-import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter;
-import software.amazon.awssdk.enhanced.dynamodb.AttributeValueType;
-import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
-import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
 
 @Data
 @Builder
@@ -24,9 +20,12 @@ public class Room {
     private String hotelId;
     private String roomNumber;
     private String roomType;
-    private BigDecimal pricePerNight;
+    @Ignore
+    @Builder.Default
+    private long pricePerNightMinor = Money.NONE;
     private Integer capacity;
     private String description;
+    @Ignore
     private List<String> bookingIds;
 
     public String getId() { return id; }
@@ -37,8 +36,10 @@ public class Room {
     public void setRoomNumber(String roomNumber) { this.roomNumber = roomNumber; }
     public String getRoomType() { return roomType; }
     public void setRoomType(String roomType) { this.roomType = roomType; }
-    public BigDecimal getPricePerNight() { return pricePerNight; }
-    public void setPricePerNight(BigDecimal pricePerNight) { this.pricePerNight = pricePerNight; }
+    public BigDecimal getPricePerNight() { return Money.toBigDecimal(pricePerNightMinor); }
+    public void setPricePerNight(BigDecimal pricePerNight) { this.pricePerNightMinor = Money.fromBigDecimal(pricePerNight); }
+    public long getPricePerNightMinor() { return pricePerNightMinor; }
+    public void setPricePerNightMinor(long pricePerNightMinor) { this.pricePerNightMinor = pricePerNightMinor; }
     public Integer getCapacity() { return capacity; }
     public void setCapacity(Integer capacity) { this.capacity = capacity; }
     public String getDescription() { return description; }
@@ -46,34 +47,12 @@ public class Room {
     public List<String> getBookingIds() { return bookingIds; }
     public void setBookingIds(List<String> bookingIds) { this.bookingIds = bookingIds; }
 
-    public static final class StringListConverter implements AttributeConverter<List<String>> {
-        @Override
-        public AttributeValue transformFrom(List<String> input) {
-            return AttributeValue.builder().ss(input).build();
-        }
-        @Override
-        public List<String> transformTo(AttributeValue input) {
-            return input.ss();
-        }
-        @Override
-        public EnhancedType<List<String>> type() {
-            return EnhancedType.listOf(String.class);
-        }
-        @Override
-        public AttributeValueType attributeValueType() {
-            return AttributeValueType.SS;
+    public static class RoomBuilder {
+        public RoomBuilder pricePerNight(BigDecimal pricePerNight) {
+            return pricePerNightMinor(Money.fromBigDecimal(pricePerNight));
         }
     }
 
-    public static final TableSchema<Room> ROOM_TABLE_SCHEMA = TableSchema.builder(Room.class)
-        .newItemSupplier(Room::new)
-        .addAttribute(String.class, a -> a.name("id").getter(Room::getId).setter(Room::setId).tags(StaticAttributeTags.primaryPartitionKey()))
-        .addAttribute(String.class, a -> a.name("hotelId").getter(Room::getHotelId).setter(Room::setHotelId))
-        .addAttribute(String.class, a -> a.name("roomNumber").getter(Room::getRoomNumber).setter(Room::setRoomNumber))
-        .addAttribute(String.class, a -> a.name("roomType").getter(Room::getRoomType).setter(Room::setRoomType))
-        .addAttribute(BigDecimal.class, a -> a.name("pricePerNight").getter(Room::getPricePerNight).setter(Room::setPricePerNight))
-        .addAttribute(Integer.class, a -> a.name("capacity").getter(Room::getCapacity).setter(Room::setCapacity))
-        .addAttribute(String.class, a -> a.name("description").getter(Room::getDescription).setter(Room::setDescription))
-        .addAttribute(EnhancedType.listOf(String.class), a -> a.name("bookingIds").getter(Room::getBookingIds).setter(Room::setBookingIds).attributeConverter(new StringListConverter()))
-        .build();
+    public static final TableSchema<Room> ROOM_TABLE_SCHEMA =
+        new ItemMapperTableSchema<>(Room.class, "id", new RoomItemMapper());
 }
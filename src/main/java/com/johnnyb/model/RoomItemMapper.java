@@ -0,0 +1,48 @@
+package com.johnnyb.model;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.johnnyb.model.AttributeValues.*;
+
+final class RoomItemMapper implements ItemMapper<Room> {
+
+    private static final List<String> ATTRIBUTES = List.of("id", "hotelId", "roomNumber", "roomType",
+        "pricePerNight", "capacity", "description", "bookingIds");
+
+    @Override
+    public List<String> attributeNames() {
+        return ATTRIBUTES;
+    }
+
+    @Override
+    public Map<String, AttributeValue> toItem(Room room) {
+        var item = new HashMap<String, AttributeValue>(16);
+        putString(item, "id", room.getId());
+        putString(item, "hotelId", room.getHotelId());
+        putString(item, "roomNumber", room.getRoomNumber());
+        putString(item, "roomType", room.getRoomType());
+        putMoney(item, "pricePerNight", room.getPricePerNightMinor());
+        putInteger(item, "capacity", room.getCapacity());
+        putString(item, "description", room.getDescription());
+        putStringSet(item, "bookingIds", room.getBookingIds());
+        return item;
+    }
+
+    @Override
+    public Room fromItem(Map<String, AttributeValue> item) {
+        var room = new Room();
+        room.setId(getString(item, "id"));
+        room.setHotelId(getString(item, "hotelId"));
+        room.setRoomNumber(getString(item, "roomNumber"));
+        room.setRoomType(getString(item, "roomType"));
+        room.setPricePerNightMinor(getMoney(item, "pricePerNight"));
+        room.setCapacity(getInteger(item, "capacity"));
+        room.setDescription(getString(item, "description"));
+        room.setBookingIds(getStringSet(item, "bookingIds"));
+        return room;
+    }
+}
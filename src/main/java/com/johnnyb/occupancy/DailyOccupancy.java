@@ -0,0 +1,6 @@
+package com.johnnyb.occupancy;
+
+import java.time.LocalDate;
+
+public record DailyOccupancy(LocalDate date, int rooms, int occupiedRooms, int guests) {
+}
@@ -0,0 +1,8 @@
+package com.johnnyb.occupancy;
+
+import java.time.LocalDate;
+
+public interface IOccupancyService {
+    Occupancy forHotel(String hotelId, LocalDate from, LocalDate to);
+    Occupancy forFleet(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,163 @@
+package com.johnnyb.occupancy;
+
+import com.johnnyb.model.Booking;
+import com.johnnyb.model.CompactId;
+import com.johnnyb.model.Room;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Night-by-night occupancy of a set of rooms over {@code [from, to)}. Each room gets an index and a
+ * {@link BitSet} of occupied nights (bit = nights since {@code from}); per-night totals are kept in
+ * {@code int} arrays. Once built, availability checks and aggregations are primitive loops with no
+ * boxing or allocation, whether the set is one hotel or the whole fleet.
+ */
+public final class Occupancy {
+
+    /** Longest window that may be built; a year including a leap day. */
+    public static final int MAX_NIGHTS = 366;
+
+    private final long firstDay;
+    private final int nights;
+    private final List<Room> rooms;
+    private final Map<CompactId, Integer> roomIndexes;
+    private final BitSet[] occupiedNights;
+    private final int[] occupiedRoomsByNight;
+    private final int[] guestsByNight;
+
+    public Occupancy(List<Room> rooms, LocalDate from, LocalDate to) {
+        var nights = checkWindow(from, to, MAX_NIGHTS);
+        this.firstDay = from.toEpochDay();
+        this.nights = (int) nights;
+        this.rooms = List.copyOf(rooms);
+        this.roomIndexes = new HashMap<>(rooms.size() * 2);
+        for (var i = 0; i < rooms.size(); i++) {
+            roomIndexes.put(CompactId.of(rooms.get(i).getId()), i);
+        }
+        // Allocated on the first booking of a room
+        this.occupiedNights = new BitSet[rooms.size()];
+        this.occupiedRoomsByNight = new int[this.nights];
+        this.guestsByNight = new int[this.nights];
+    }
+
+    /**
+     * Returns the number of nights in {@code [from, to)}, rejecting empty windows and windows longer
+     * than {@code maxNights}. Callers check before loading rooms and bookings.
+     */
+    public static long checkWindow(LocalDate from, LocalDate to, int maxNights) {
+        var nights = to.toEpochDay() - from.toEpochDay();
+        if (nights <= 0 || nights > Math.min(maxNights, MAX_NIGHTS)) {
+            throw new IllegalArgumentException("Date range must cover 1 to " + Math.min(maxNights, MAX_NIGHTS)
+                + " nights: " + from + " to " + to);
+        }
+        return nights;
+    }
+
+    public static Occupancy of(List<Room> rooms, List<Booking> bookings, LocalDate from, LocalDate to) {
+        var occupancy = new Occupancy(rooms, from, to);
+        bookings.forEach(occupancy::add);
+        return occupancy;
+    }
+
+    /** Records the nights of a booking that fall inside the window; other rooms and cancelled bookings are ignored. */
+    public void add(Booking booking) {
+        if (booking.getStatus() == Booking.BookingStatus.CANCELLED
+                || booking.getCheckInDate() == null || booking.getCheckOutDate() == null) {
+            return;
+        }
+        var room = roomIndex(booking.getRoomId());
+        if (room < 0) {
+            return;
+        }
+        var start = (int) Math.max(booking.getCheckInDate().toEpochDay() - firstDay, 0);
+        var end = (int) Math.min(booking.getCheckOutDate().toEpochDay() - firstDay, nights);
+        if (start >= end) {
+            return;
+        }
+        var occupied = occupiedNights[room];
+        if (occupied == null) {
+            occupied = occupiedNights[room] = new BitSet(nights);
+        }
+        var guests = booking.getNumberOfGuests() != null ? booking.getNumberOfGuests() : 0;
+        for (var night = start; night < end; night++) {
+            if (!occupied.get(night)) {
+                occupied.set(night);
+                occupiedRoomsByNight[night]++;
+            }
+            guestsByNight[night] += guests;
+        }
+    }
+
+    public int roomIndex(String roomId) {
+        var index = roomId != null ? roomIndexes.get(CompactId.of(roomId)) : null;
+        return index != null ? index : -1;
+    }
+
+    /** Whether the room is free for every night of {@code [checkIn, checkOut)} that lies inside the window. */
+    public boolean isAvailable(int roomIndex, LocalDate checkIn, LocalDate checkOut) {
+        var occupied = occupiedNights[roomIndex];
+        if (occupied == null) {
+            return true;
+        }
+        var start = (int) Math.max(checkIn.toEpochDay() - firstDay, 0);
+        var end = (int) Math.min(checkOut.toEpochDay() - firstDay, nights);
+        if (start >= end) {
+            return true;
+        }
+        var next = occupied.nextSetBit(start);
+        return next < 0 || next >= end;
+    }
+
+    /** Rooms with no occupied night in the whole window. */
+    public List<Room> availableRooms() {
+        var available = new ArrayList<Room>();
+        for (var i = 0; i < occupiedNights.length; i++) {
+            if (occupiedNights[i] == null || occupiedNights[i].isEmpty()) {
+                available.add(rooms.get(i));
+            }
+        }
+        return available;
+    }
+
+    public int nights() {
+        return nights;
+    }
+
+    public int roomCount() {
+        return rooms.size();
+    }
+
+    public int occupiedRooms(int night) {
+        return occupiedRoomsByNight[night];
+    }
+
+    public int guests(int night) {
+        return guestsByNight[night];
+    }
+
+    /** Occupied room-nights over available room-nights, 0 when there are no rooms. */
+    public double occupancyRate() {
+        if (rooms.isEmpty()) {
+            return 0;
+        }
+        long occupied = 0;
+        for (var count : occupiedRoomsByNight) {
+            occupied += count;
+        }
+        return (double) occupied / ((long) rooms.size() * nights);
+    }
+
+    public List<DailyOccupancy> daily() {
+        var daily = new ArrayList<DailyOccupancy>(nights);
+        for (var night = 0; night < nights; night++) {
+            daily.add(new DailyOccupancy(LocalDate.ofEpochDay(firstDay + night), rooms.size(),
+                occupiedRoomsByNight[night], guestsByNight[night]));
+        }
+        return daily;
+    }
+}
@@ -0,0 +1,39 @@
+package com.johnnyb.occupancy;
+
+import com.johnnyb.service.IBookingService;
+import com.johnnyb.service.IRoomService;
+import com.johnnyb.telemetry.jfr.Profiled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDate;
+
+/**
+ * Builds {@link Occupancy} from one rooms scan and one bookings scan, however many rooms are
+ * involved.
+ */
+@Profiled
+@ApplicationScoped
+public class OccupancyService implements IOccupancyService {
+
+    private static final Logger LOG = Logger.getLogger(OccupancyService.class);
+
+    @Inject
+    IRoomService roomService;
+
+    @Inject
+    IBookingService bookingService;
+
+    @Override
+    public Occupancy forHotel(String hotelId, LocalDate from, LocalDate to) {
+        LOG.infof("Building occupancy for hotel %s from %s to %s", hotelId, from, to);
+        return Occupancy.of(roomService.findByHotelId(hotelId), bookingService.findAll(), from, to);
+    }
+
+    @Override
+    public Occupancy forFleet(LocalDate from, LocalDate to) {
+        LOG.infof("Building fleet occupancy from %s to %s", from, to);
+        return Occupancy.of(roomService.findAll(), bookingService.findAll(), from, to);
+    }
+}
@@ -0,0 +1,41 @@
+package com.johnnyb.service;
+
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Loads items by partition key with {@code BatchGetItem}, 100 keys per request. Unprocessed keys are
+ * retried by the enhanced client's result pages. Missing ids are skipped and the order of the
+ * result is unspecified.
+ */
+final class BatchGets {
+
+    static final int MAX_KEYS_PER_REQUEST = 100;
+
+    private BatchGets() {
+    }
+
+    static <T> List<T> getAll(DynamoDbEnhancedClient client, DynamoDbTable<T> table, Class<T> itemClass,
+                              Collection<String> ids) {
+        var unique = new ArrayList<>(new LinkedHashSet<>(ids));
+        var items = new ArrayList<T>(unique.size());
+        for (int from = 0; from < unique.size(); from += MAX_KEYS_PER_REQUEST) {
+            var batch = ReadBatch.builder(itemClass).mappedTableResource(table);
+            for (var id : unique.subList(from, Math.min(unique.size(), from + MAX_KEYS_PER_REQUEST))) {
+                batch.addGetItem(Key.builder().partitionValue(id).build());
+            }
+            var readBatch = batch.build();
+            client.batchGetItem(request -> request.readBatches(readBatch))
+                .resultsForTable(table)
+                .forEach(items::add);
+        }
+        return items;
+    }
+}
@@ -1,34 +1,66 @@
 package com.johnnyb.service;
 
 import com.johnnyb.model.Booking;
+import com.johnnyb.model.ItemFormat;
+import com.johnnyb.telemetry.jfr.Profiled;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.Put;
 import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
 
 import jakarta.annotation.PostConstruct;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+@Profiled
 @ApplicationScoped
 public class BookingService implements IBookingService {
 
     private static final Logger LOG = Logger.getLogger(BookingService.class);
     private static final String TABLE_NAME = "bookings";
+    static final String ROOMS_TABLE_NAME = "rooms";
+    static final String CUSTOMERS_TABLE_NAME = "customers";
+
+    @ConfigProperty(name = "bookings.date-encoding", defaultValue = "iso-string")
+    Booking.DateEncoding dateEncoding;
+
+    @ConfigProperty(name = "bookings.item-format", defaultValue = "attributes")
+    ItemFormat itemFormat;
 
     @Inject
     DynamoDbEnhancedClient dynamoDb;
 
+    @Inject
+    DynamoDbClient dynamoDbClient;
+
+    @Inject
+    IRoomService roomService;
+
+    @Inject
+    ICustomerService customerService;
+
     private DynamoDbTable<Booking> bookingTable;
 
     @PostConstruct
     void init() {
-        bookingTable = dynamoDb.table(TABLE_NAME, Booking.BOOKING_TABLE_SCHEMA);
+        bookingTable = dynamoDb.table(TABLE_NAME, Booking.tableSchema(dateEncoding, itemFormat));
     }
 
     @Override
@@ -38,6 +70,68 @@ public class BookingService implements IBookingService {
         return booking;
     }
 
+    @Override
+    public Booking create(Booking booking) {
+        LOG.infof("Creating booking %s for room %s and customer %s", booking.getId(), booking.getRoomId(),
+            booking.getCustomerId());
+        write(booking, true);
+        return booking;
+    }
+
+    @Override
+    public Booking cancel(Booking booking) {
+        LOG.infof("Cancelling booking: %s", booking.getId());
+        booking.setStatus(Booking.BookingStatus.CANCELLED);
+        write(booking, false);
+        return booking;
+    }
+
+    private void write(Booking booking, boolean create) {
+        try {
+            dynamoDbClient.transactWriteItems(bookingWrite(bookingTable.tableSchema().itemToMap(booking, true), create));
+        } catch (TransactionCanceledException e) {
+            var reasons = e.cancellationReasons().stream().map(CancellationReason::code).collect(Collectors.joining(","));
+            throw new IllegalStateException("Booking " + booking.getId() + " was not written (" + reasons + ")", e);
+        } finally {
+            roomService.evict(booking.getRoomId());
+            customerService.evict(booking.getCustomerId());
+        }
+    }
+
+    /**
+     * Puts the booking item and adds its id to (or, when cancelling, deletes it from) the
+     * {@code bookingIds} sets of its room and customer, all or nothing. A new booking must not exist
+     * yet, a cancelled one must; the room and customer must both exist.
+     */
+    static TransactWriteItemsRequest bookingWrite(Map<String, AttributeValue> item, boolean create) {
+        var put = Put.builder()
+            .tableName(TABLE_NAME)
+            .item(item)
+            .conditionExpression(create ? "attribute_not_exists(id)" : "attribute_exists(id)")
+            .build();
+        var action = create ? "ADD" : "DELETE";
+        var bookingId = AttributeValue.builder().ss(item.get("id").s()).build();
+        return TransactWriteItemsRequest.builder()
+            .transactItems(
+                TransactWriteItem.builder().put(put).build(),
+                bookingIdsUpdate(ROOMS_TABLE_NAME, item.get("roomId"), action, bookingId),
+                bookingIdsUpdate(CUSTOMERS_TABLE_NAME, item.get("customerId"), action, bookingId))
+            .build();
+    }
+
+    private static TransactWriteItem bookingIdsUpdate(String tableName, AttributeValue id, String action,
+                                                      AttributeValue bookingId) {
+        return TransactWriteItem.builder()
+            .update(Update.builder()
+                .tableName(tableName)
+                .key(Map.of("id", id))
+                .updateExpression(action + " bookingIds :booking")
+                .conditionExpression("attribute_exists(id)")
+                .expressionAttributeValues(Map.of(":booking", bookingId))
+                .build())
+            .build();
+    }
+
     @Override
     public Optional<Booking> findById(String id) {
         LOG.infof("Finding booking by ID: %s", id);
@@ -50,6 +144,20 @@ public class BookingService implements IBookingService {
         }
     }
 
+    @Override
+    public List<Booking> findByIds(Collection<String> ids) {
+        LOG.infof("Finding %d bookings by ID", ids.size());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return BatchGets.getAll(dynamoDb, bookingTable, Booking.class, ids);
+        } catch (ResourceNotFoundException e) {
+            LOG.warn("Booking table not found");
+            return List.of();
+        }
+    }
+
     @Override
     public List<Booking> findAll() {
         LOG.info("Finding all bookings");
@@ -0,0 +1,123 @@
+package com.johnnyb.service;
+
+import com.johnnyb.hotkey.HotKey;
+import com.johnnyb.hotkey.HotKeyKind;
+import com.johnnyb.hotkey.HotKeySnapshot;
+import com.johnnyb.hotkey.IHotKeyTracker;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Persists the hottest hotel, room and customer ids at shutdown and preloads them into the entity
+ * caches with {@code BatchGetItem} on the next start. The readiness check stays down until the
+ * preload has finished, so a new node only receives traffic once its caches are warm.
+ */
+@ApplicationScoped
+public class CacheWarmupService implements ICacheWarmupService {
+
+    private static final Logger LOG = Logger.getLogger(CacheWarmupService.class);
+
+    @ConfigProperty(name = "cache-warmup.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "cache-warmup.snapshot-path", defaultValue = "data/hotkeys.snapshot")
+    String snapshotFile;
+
+    @ConfigProperty(name = "cache-warmup.max-ids-per-kind", defaultValue = "50")
+    int maxIdsPerKind;
+
+    @Inject
+    IHotKeyTracker hotKeys;
+
+    @Inject
+    IHotelService hotelService;
+
+    @Inject
+    IRoomService roomService;
+
+    @Inject
+    ICustomerService customerService;
+
+    private Path snapshotPath;
+    private volatile boolean complete;
+    private final AtomicInteger preloaded = new AtomicInteger();
+
+    void onStart(@Observes StartupEvent event) {
+        snapshotPath = Path.of(snapshotFile);
+        if (!enabled) {
+            complete = true;
+            return;
+        }
+        var thread = new Thread(this::warmUp, "cache-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (!enabled) {
+            return;
+        }
+        var keys = new ArrayList<HotKey>();
+        for (var kind : HotKeyKind.values()) {
+            keys.addAll(hotKeys.top(kind, maxIdsPerKind));
+        }
+        try {
+            HotKeySnapshot.write(snapshotPath, keys);
+            LOG.infof("Saved %d hot keys to %s", keys.size(), snapshotPath);
+        } catch (IOException e) {
+            LOG.warnf(e, "Could not save hot keys to %s", snapshotPath);
+        }
+    }
+
+    @Override
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public int preloadedCount() {
+        return preloaded.get();
+    }
+
+    private void warmUp() {
+        var start = System.nanoTime();
+        try {
+            var keys = HotKeySnapshot.read(snapshotPath);
+            if (keys.isEmpty()) {
+                LOG.infof("No hot keys snapshot at %s, starting with cold caches", snapshotPath);
+                return;
+            }
+            // Carry the ranking over so the next snapshot is not empty after a quiet restart
+            keys.forEach(hotKeys::seed);
+            preloaded.addAndGet(hotelService.findByIds(ids(keys, HotKeyKind.HOTEL)).size());
+            preloaded.addAndGet(roomService.findByIds(ids(keys, HotKeyKind.ROOM)).size());
+            preloaded.addAndGet(customerService.findByIds(ids(keys, HotKeyKind.CUSTOMER)).size());
+            LOG.infof("Preloaded %d of %d hot entities in %d ms", preloaded.get(), keys.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            // A failed warm-up only costs latency; never keep the node out of rotation for it
+            LOG.warnf(e, "Cache warm-up from %s failed", snapshotPath);
+        } finally {
+            complete = true;
+        }
+    }
+
+    private List<String> ids(List<HotKey> keys, HotKeyKind kind) {
+        return keys.stream()
+            .filter(key -> key.kind() == kind)
+            .limit(maxIdsPerKind)
+            .map(HotKey::id)
+            .toList();
+    }
+}
@@ -1,51 +1,98 @@
 package com.johnnyb.service;
 
+import com.johnnyb.cache.EntityCache;
+import com.johnnyb.cache.EntityCacheRegistry;
+import com.johnnyb.hotkey.HotKeyKind;
+import com.johnnyb.hotkey.IHotKeyTracker;
 import com.johnnyb.model.Customer;
+import com.johnnyb.model.PaymentDetails;
+import com.johnnyb.telemetry.jfr.Profiled;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
 
 import jakarta.annotation.PostConstruct;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+@Profiled
 @ApplicationScoped
 public class CustomerService implements ICustomerService {
 
     private static final Logger LOG = Logger.getLogger(CustomerService.class);
     private static final String TABLE_NAME = "customers";
+    private static final String PAYMENTS_TABLE_NAME = "customer-payments";
+    /** Card attributes written to customer items before they moved to the payments table */
+    private static final String LEGACY_PAYMENT_ATTRIBUTES = "creditCardNumber, creditCardExpiry, creditCardCvv";
+    /** Kept in step by booking transactions */
+    private static final Set<String> MAINTAINED_ATTRIBUTES = Set.of("bookingIds");
 
     @Inject
     DynamoDbEnhancedClient dynamoDb;
 
+    @Inject
+    DynamoDbClient dynamoDbClient;
+
+    @Inject
+    EntityCacheRegistry entityCaches;
+
+    @Inject
+    IHotKeyTracker hotKeys;
+
     private DynamoDbTable<Customer> customerTable;
+    private DynamoDbTable<PaymentDetails> paymentTable;
+    private EntityCache<Customer> customerCache;
 
     @PostConstruct
     void init() {
+        customerCache = entityCaches.create(TABLE_NAME, Customer.CUSTOMER_TABLE_SCHEMA);
         customerTable = dynamoDb.table(TABLE_NAME, Customer.CUSTOMER_TABLE_SCHEMA);
+        paymentTable = dynamoDb.table(PAYMENTS_TABLE_NAME, PaymentDetails.PAYMENT_DETAILS_TABLE_SCHEMA);
     }
 
+    /**
+     * Writes the customer's own attributes only, so booking ids and the card attributes of customers
+     * that have not been moved to the payments table yet are kept.
+     */
     @Override
     public Customer save(Customer customer) {
         LOG.infof("Saving customer: %s", customer.getId());
-        // Prevent DynamoDB empty set error
-        if (customer.getBookingIds() != null && customer.getBookingIds().isEmpty()) {
-            customer.setBookingIds(null);
-        }
-        customerTable.putItem(customer);
+        var schema = customerTable.tableSchema();
+        dynamoDbClient.updateItem(ItemUpdates.ownAttributes(TABLE_NAME, "id", schema.itemToMap(customer, true),
+            schema.attributeNames(), MAINTAINED_ATTRIBUTES));
+        // The stored booking ids may differ from the caller's copy
+        customerCache.invalidate(customer.getId());
         return customer;
     }
 
     @Override
     public Optional<Customer> findById(String id) {
         LOG.infof("Finding customer by ID: %s", id);
+        hotKeys.record(HotKeyKind.CUSTOMER, id);
+        var cached = customerCache.get(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
         try {
             var customer = customerTable.getItem(Key.builder().partitionValue(id).build());
+            if (customer != null) {
+                customerCache.put(id, customer);
+            }
             return Optional.ofNullable(customer);
         } catch (ResourceNotFoundException e) {
             LOG.warnf("Customer not found: %s", id);
@@ -62,6 +109,27 @@ public class CustomerService implements ICustomerService {
                 .findFirst();
     }
 
+    @Override
+    public List<Customer> findByIds(Collection<String> ids) {
+        LOG.infof("Finding %d customers by ID", ids.size());
+        var customers = new ArrayList<Customer>(ids.size());
+        var missing = new ArrayList<String>();
+        for (var id : ids) {
+            customerCache.get(id).ifPresentOrElse(customers::add, () -> missing.add(id));
+        }
+        if (!missing.isEmpty()) {
+            try {
+                for (var customer : BatchGets.getAll(dynamoDb, customerTable, Customer.class, missing)) {
+                    customerCache.put(customer.getId(), customer);
+                    customers.add(customer);
+                }
+            } catch (ResourceNotFoundException e) {
+                LOG.warn("Customer table not found");
+            }
+        }
+        return customers;
+    }
+
     @Override
     public List<Customer> findAll() {
         LOG.info("Finding all customers");
@@ -79,6 +147,76 @@ public class CustomerService implements ICustomerService {
     public void delete(String id) {
         LOG.infof("Deleting customer: %s", id);
         customerTable.deleteItem(Key.builder().partitionValue(id).build());
+        customerCache.invalidate(id);
+        paymentTable.deleteItem(Key.builder().partitionValue(id).build());
+    }
+
+    @Override
+    public PaymentDetails savePaymentDetails(PaymentDetails details) {
+        LOG.infof("Saving payment details for customer: %s", details.getCustomerId());
+        paymentTable.putItem(details);
+        return details;
+    }
+
+    @Override
+    public Optional<PaymentDetails> findPaymentDetails(String customerId) {
+        LOG.infof("Finding payment details for customer: %s", customerId);
+        try {
+            var details = paymentTable.getItem(Key.builder().partitionValue(customerId).build());
+            if (details != null) {
+                return Optional.of(details);
+            }
+            return moveLegacyPaymentDetails(customerId)
+                ? Optional.ofNullable(paymentTable.getItem(Key.builder().partitionValue(customerId).build()))
+                : Optional.empty();
+        } catch (ResourceNotFoundException e) {
+            LOG.warn("Customer payments table not found");
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Customers saved before the payments table existed still carry the card attributes on their own
+     * item. They are copied to the payments table, unless details were saved there since, and removed
+     * from the customer item.
+     */
+    @Override
+    public boolean moveLegacyPaymentDetails(String customerId) {
+        var key = Map.of("id", AttributeValue.builder().s(customerId).build());
+        var item = dynamoDbClient.getItem(GetItemRequest.builder()
+            .tableName(TABLE_NAME)
+            .key(key)
+            .projectionExpression(LEGACY_PAYMENT_ATTRIBUTES)
+            .build()).item();
+        if (item == null || !item.containsKey("creditCardNumber")) {
+            return false;
+        }
+        var details = PaymentDetails.builder()
+            .customerId(customerId)
+            .creditCardNumber(item.get("creditCardNumber").s())
+            .creditCardExpiry(item.containsKey("creditCardExpiry") ? item.get("creditCardExpiry").s() : null)
+            .creditCardCvv(item.containsKey("creditCardCvv") ? item.get("creditCardCvv").s() : null)
+            .build();
+        try {
+            paymentTable.putItem(PutItemEnhancedRequest.builder(PaymentDetails.class)
+                .item(details)
+                .conditionExpression(Expression.builder().expression("attribute_not_exists(customerId)").build())
+                .build());
+        } catch (ConditionalCheckFailedException e) {
+            LOG.infof("Customer %s already has payment details; dropping the legacy card attributes", customerId);
+        }
+        dynamoDbClient.updateItem(UpdateItemRequest.builder()
+            .tableName(TABLE_NAME)
+            .key(key)
+            .updateExpression("REMOVE " + LEGACY_PAYMENT_ATTRIBUTES)
+            .build());
+        LOG.infof("Moved payment details of customer %s to %s", customerId, PAYMENTS_TABLE_NAME);
+        return true;
+    }
+
+    @Override
+    public void evict(String id) {
+        customerCache.invalidate(id);
     }
 
     @Override
@@ -3,25 +3,45 @@ package com.johnnyb.service;
 import com.johnnyb.model.Booking;
 import com.johnnyb.model.Customer;
 import com.johnnyb.model.Hotel;
+import com.johnnyb.model.Money;
+import com.johnnyb.model.PaymentDetails;
 import com.johnnyb.model.Room;
+import com.johnnyb.occupancy.Occupancy;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.quarkus.runtime.ShutdownEvent;
 import io.quarkus.runtime.StartupEvent;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Seeds an empty database with sample data. Runs on a background thread so startup and liveness do
+ * not depend on the dataset; {@code DataInitializationHealthCheck} keeps the node unready until it
+ * has finished, and progress is exported as the {@code data.initialization.items} gauge.
+ */
 @ApplicationScoped
 public class DataInitializationService implements IDataInitializationService {
 
     private static final Logger LOG = Logger.getLogger(DataInitializationService.class);
     private static final Random RANDOM = new Random();
+    private static final AttributeKey<String> ENTITY = AttributeKey.stringKey("entity");
+
+    @ConfigProperty(name = "data-initialization.enabled", defaultValue = "true")
+    boolean enabled;
 
     @Inject
     IHotelService hotelService;
@@ -35,31 +55,98 @@ public class DataInitializationService implements IDataInitializationService {
     @Inject
     IBookingService bookingService;
 
+    @Inject
+    Meter meter;
+
+    private final AtomicInteger customersCreated = new AtomicInteger();
+    private final AtomicInteger hotelsCreated = new AtomicInteger();
+    private final AtomicInteger roomsCreated = new AtomicInteger();
+    private final AtomicInteger bookingsCreated = new AtomicInteger();
+    private volatile int bookingsTarget;
+    private volatile Status status = Status.PENDING;
+    private Thread worker;
+
     @Override
     public void onStart(@Observes StartupEvent ev) {
-        // Only initialize if database is empty
-        if (hotelService.count() > 0) {
-            LOG.info("Database already initialized, skipping data initialization");
+        if (!enabled) {
+            status = Status.SKIPPED;
             return;
         }
+        meter.gaugeBuilder("data.initialization.items")
+            .ofLongs()
+            .setDescription("Sample items created by data initialization so far")
+            .buildWithCallback(measurement -> {
+                measurement.record(customersCreated.get(), Attributes.of(ENTITY, "customers"));
+                measurement.record(hotelsCreated.get(), Attributes.of(ENTITY, "hotels"));
+                measurement.record(roomsCreated.get(), Attributes.of(ENTITY, "rooms"));
+                measurement.record(bookingsCreated.get(), Attributes.of(ENTITY, "bookings"));
+            });
+        meter.gaugeBuilder("data.initialization.bookings.target")
+            .ofLongs()
+            .setDescription("Bookings data initialization is aiming for")
+            .buildWithCallback(measurement -> measurement.record(bookingsTarget));
+        worker = new Thread(this::initialize, "data-initialization");
+        worker.setDaemon(true);
+        worker.start();
+    }
 
-        LOG.info("Initializing database with sample data...");
+    void onStop(@Observes ShutdownEvent ev) {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
 
-        // Create customers first
-        var customers = createCustomers();
-        LOG.infof("Created %d customers", customers.size());
+    @Override
+    public Status status() {
+        return status;
+    }
 
-        // Create hotels with rooms
-        var hotels = createHotels();
-        LOG.infof("Created %d hotels", hotels.size());
+    @Override
+    public Map<String, Integer> progress() {
+        var progress = new LinkedHashMap<String, Integer>();
+        progress.put("customers", customersCreated.get());
+        progress.put("hotels", hotelsCreated.get());
+        progress.put("rooms", roomsCreated.get());
+        progress.put("bookings", bookingsCreated.get());
+        progress.put("bookingsTarget", bookingsTarget);
+        return progress;
+    }
 
-        // Create bookings (targeting ~50% capacity for next 3 months)
-        createBookings(hotels, customers);
-        LOG.info("Database initialization completed");
+    private void initialize() {
+        var start = System.nanoTime();
+        try {
+            status = Status.RUNNING;
+            // Only initialize if database is empty
+            if (!hotelService.isEmpty()) {
+                LOG.info("Database already initialized, skipping data initialization");
+                status = Status.SKIPPED;
+                return;
+            }
+
+            LOG.info("Initializing database with sample data...");
+
+            // Create customers first
+            var customers = createCustomers();
+            LOG.infof("Created %d customers", customers.size());
+
+            // Create hotels with rooms
+            var hotels = createHotels();
+            LOG.infof("Created %d hotels", hotels.size());
+
+            // Create bookings (targeting ~50% capacity for next 3 months)
+            createBookings(hotels, customers);
+            LOG.infof("Database initialization completed in %d ms", (System.nanoTime() - start) / 1_000_000);
+            status = Status.COMPLETED;
+        } catch (RuntimeException e) {
+            LOG.error("Database initialization failed", e);
+            status = Status.FAILED;
+        }
     }
 
     private List<Customer> createCustomers() {
         var customers = new ArrayList<Customer>();
+        // Card number, expiry and CVV per customer, stored in the payments table
+        var cards = new ArrayList<String[]>();
 
         customers.add(Customer.builder()
             .id(UUID.randomUUID().toString())
@@ -68,11 +155,9 @@ public class DataInitializationService implements IDataInitializationService {
             .email("john.doe@example.com")
             .phone("+1-555-0101")
             .address("123 Main St, New York, NY 10001")
-            .creditCardNumber("4532015112830366")
-            .creditCardExpiry("12/25")
-            .creditCardCvv("123")
             .bookingIds(new ArrayList<>())
             .build());
+        cards.add(new String[] {"4532015112830366", "12/25", "123"});
 
         customers.add(Customer.builder()
             .id(UUID.randomUUID().toString())
@@ -81,11 +166,9 @@ public class DataInitializationService implements IDataInitializationService {
             .email("jane.smith@example.com")
             .phone("+1-555-0102")
             .address("456 Oak Ave, Los Angeles, CA 90001")
-            .creditCardNumber("5425233430109903")
-            .creditCardExpiry("11/26")
-            .creditCardCvv("456")
             .bookingIds(new ArrayList<>())
             .build());
+        cards.add(new String[] {"5425233430109903", "11/26", "456"});
 
         customers.add(Customer.builder()
             .id(UUID.randomUUID().toString())
@@ -94,11 +177,9 @@ public class DataInitializationService implements IDataInitializationService {
             .email("michael.johnson@example.com")
             .phone("+1-555-0103")
             .address("789 Pine Rd, Chicago, IL 60601")
-            .creditCardNumber("2221000010003695")
-            .creditCardExpiry("10/24")
-            .creditCardCvv("789")
             .bookingIds(new ArrayList<>())
             .build());
+        cards.add(new String[] {"2221000010003695", "10/24", "789"});
 
         customers.add(Customer.builder()
             .id(UUID.randomUUID().toString())
@@ -107,11 +188,9 @@ public class DataInitializationService implements IDataInitializationService {
             .email("emily.williams@example.com")
             .phone("+1-555-0104")
             .address("321 Elm St, Houston, TX 77001")
-            .creditCardNumber("378282246310005")
-            .creditCardExpiry("09/25")
-            .creditCardCvv("321")
             .bookingIds(new ArrayList<>())
             .build());
+        cards.add(new String[] {"378282246310005", "09/25", "321"});
 
         customers.add(Customer.builder()
             .id(UUID.randomUUID().toString())
@@ -120,11 +199,9 @@ public class DataInitializationService implements IDataInitializationService {
             .email("david.brown@example.com")
             .phone("+1-555-0105")
             .address("654 Maple Dr, Phoenix, AZ 85001")
-            .creditCardNumber("371449635398431")
-            .creditCardExpiry("08/26")
-            .creditCardCvv("654")
             .bookingIds(new ArrayList<>())
             .build());
+        cards.add(new String[] {"371449635398431", "08/26", "654"});
 
         customers.add(Customer.builder()
             .id(UUID.randomUUID().toString())
@@ -133,11 +210,9 @@ public class DataInitializationService implements IDataInitializationService {
             .email("sarah.davis@example.com")
             .phone("+1-555-0106")
             .address("987 Cedar Ln, Philadelphia, PA 19101")
-            .creditCardNumber("6011111111111117")
-            .creditCardExpiry("07/25")
-            .creditCardCvv("987")
             .bookingIds(new ArrayList<>())
             .build());
+        cards.add(new String[] {"6011111111111117", "07/25", "987"});
 
         customers.add(Customer.builder()
             .id(UUID.randomUUID().toString())
@@ -146,11 +221,9 @@ public class DataInitializationService implements IDataInitializationService {
             .email("james.miller@example.com")
             .phone("+1-555-0107")
             .address("147 Birch Ct, San Antonio, TX 78201")
-            .creditCardNumber("3530111333300000")
-            .creditCardExpiry("06/24")
-            .creditCardCvv("147")
             .bookingIds(new ArrayList<>())
             .build());
+        cards.add(new String[] {"3530111333300000", "06/24", "147"});
 
         customers.add(Customer.builder()
             .id(UUID.randomUUID().toString())
@@ -159,11 +232,9 @@ public class DataInitializationService implements IDataInitializationService {
             .email("lisa.wilson@example.com")
             .phone("+1-555-0108")
             .address("258 Spruce Way, San Diego, CA 92101")
-            .creditCardNumber("5555555555554444")
-            .creditCardExpiry("05/26")
-            .creditCardCvv("258")
             .bookingIds(new ArrayList<>())
             .build());
+        cards.add(new String[] {"5555555555554444", "05/26", "258"});
 
         customers.add(Customer.builder()
             .id(UUID.randomUUID().toString())
@@ -172,11 +243,9 @@ public class DataInitializationService implements IDataInitializationService {
             .email("robert.moore@example.com")
             .phone("+1-555-0109")
             .address("369 Walnut Blvd, Dallas, TX 75201")
-            .creditCardNumber("4111111111111111")
-            .creditCardExpiry("04/25")
-            .creditCardCvv("369")
             .bookingIds(new ArrayList<>())
             .build());
+        cards.add(new String[] {"4111111111111111", "04/25", "369"});
 
         customers.add(Customer.builder()
             .id(UUID.randomUUID().toString())
@@ -185,14 +254,20 @@ public class DataInitializationService implements IDataInitializationService {
             .email("jennifer.taylor@example.com")
             .phone("+1-555-0110")
             .address("753 Ash Ave, San Jose, CA 95101")
-            .creditCardNumber("4012888888881881")
-            .creditCardExpiry("03/26")
-            .creditCardCvv("753")
             .bookingIds(new ArrayList<>())
             .build());
-
-        for (Customer customer : customers) {
-            customerService.save(customer);
+        cards.add(new String[] {"4012888888881881", "03/26", "753"});
+
+        for (var i = 0; i < customers.size(); i++) {
+            var customer = customerService.save(customers.get(i));
+            var card = cards.get(i);
+            customerService.savePaymentDetails(PaymentDetails.builder()
+                .customerId(customer.getId())
+                .creditCardNumber(card[0])
+                .creditCardExpiry(card[1])
+                .creditCardCvv(card[2])
+                .build());
+            customersCreated.incrementAndGet();
         }
 
         return customers;
@@ -217,6 +292,7 @@ public class DataInitializationService implements IDataInitializationService {
             .build();
         hotelService.save(hotel1);
         createRoomsForHotel(hotel1, 20);
+        hotelsCreated.incrementAndGet();
         hotels.add(hotel1);
 
         // Hotel 2: Business Hotel
@@ -235,6 +311,7 @@ public class DataInitializationService implements IDataInitializationService {
             .build();
         hotelService.save(hotel2);
         createRoomsForHotel(hotel2, 25);
+        hotelsCreated.incrementAndGet();
         hotels.add(hotel2);
 
         // Hotel 3: Boutique Hotel
@@ -253,6 +330,7 @@ public class DataInitializationService implements IDataInitializationService {
             .build();
         hotelService.save(hotel3);
         createRoomsForHotel(hotel3, 15);
+        hotelsCreated.incrementAndGet();
         hotels.add(hotel3);
 
         // Hotel 4: Mountain Lodge
@@ -271,6 +349,7 @@ public class DataInitializationService implements IDataInitializationService {
             .build();
         hotelService.save(hotel4);
         createRoomsForHotel(hotel4, 18);
+        hotelsCreated.incrementAndGet();
         hotels.add(hotel4);
 
         // Hotel 5: Airport Hotel
@@ -289,6 +368,7 @@ public class DataInitializationService implements IDataInitializationService {
             .build();
         hotelService.save(hotel5);
         createRoomsForHotel(hotel5, 30);
+        hotelsCreated.incrementAndGet();
         hotels.add(hotel5);
 
         return hotels;
@@ -296,11 +376,11 @@ public class DataInitializationService implements IDataInitializationService {
 
     private void createRoomsForHotel(Hotel hotel, int numberOfRooms) {
         var roomTypes = new String[]{"Standard", "Deluxe", "Suite", "Executive Suite"};
-        var basePrices = new BigDecimal[]{
-            new BigDecimal("120.00"),
-            new BigDecimal("180.00"),
-            new BigDecimal("250.00"),
-            new BigDecimal("350.00")
+        var basePrices = new long[]{
+            Money.ofMajor(120),
+            Money.ofMajor(180),
+            Money.ofMajor(250),
+            Money.ofMajor(350)
         };
         var capacities = new Integer[]{2, 2, 4, 4};
 
@@ -316,12 +396,13 @@ public class DataInitializationService implements IDataInitializationService {
                 .hotelId(hotel.getId())
                 .roomNumber(roomNumber)
                 .roomType(roomTypes[typeIndex])
-                .pricePerNight(basePrices[typeIndex])
+                .pricePerNightMinor(basePrices[typeIndex])
                 .capacity(capacities[typeIndex])
                 .description(String.format("%s room with modern amenities", roomTypes[typeIndex]))
                 .bookingIds(new ArrayList<>())
                 .build();
             roomService.save(room);
+            roomsCreated.incrementAndGet();
         }
     }
 
@@ -329,21 +410,31 @@ public class DataInitializationService implements IDataInitializationService {
         var today = LocalDate.now();
         var endDate = today.plusMonths(3);
         
-        var totalRooms = (int) hotels.stream()
-            .mapToLong(hotel -> roomService.findByHotelId(hotel.getId()).size())
-            .sum();
+        // One rooms scan per hotel up front instead of one per booking
+        var roomsByHotel = new HashMap<String, List<Room>>();
+        for (var hotel : hotels) {
+            roomsByHotel.put(hotel.getId(), roomService.findByHotelId(hotel.getId()));
+        }
+        var allRooms = roomsByHotel.values().stream().flatMap(List::stream).toList();
+        var totalRooms = allRooms.size();
+        // Tracks the bookings made so far, so availability checks need no bookings scan
+        var occupancy = new Occupancy(allRooms, today, endDate);
         
         // Target ~50% occupancy, so create bookings for about half the room-nights
         var targetBookings = (int) (totalRooms * 45 * 0.5 / 7); // Assuming average 7-day stays
+        bookingsTarget = targetBookings;
         
         LOG.infof("Creating approximately %d bookings for %d total rooms", targetBookings, totalRooms);
         
-        var bookingsCreated = 0;
         for (int i = 0; i < targetBookings; i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                LOG.warnf("Data initialization interrupted after %d bookings", bookingsCreated.get());
+                return;
+            }
             try {
                 // Random hotel and room
                 var hotel = hotels.get(RANDOM.nextInt(hotels.size()));
-                var hotelRooms = roomService.findByHotelId(hotel.getId());
+                var hotelRooms = roomsByHotel.get(hotel.getId());
                 if (hotelRooms.isEmpty()) continue;
                 
                 var room = hotelRooms.get(RANDOM.nextInt(hotelRooms.size()));
@@ -365,17 +456,12 @@ public class DataInitializationService implements IDataInitializationService {
                 }
                 
                 // Check if room is available
-                var overlappingBookings = bookingService.findOverlappingBookings(
-                    room.getId(), checkIn, checkOut
-                );
-                
-                if (!overlappingBookings.isEmpty()) {
+                if (!occupancy.isAvailable(occupancy.roomIndex(room.getId()), checkIn, checkOut)) {
                     continue; // Skip if room is already booked
                 }
                 
                 // Calculate total price
-                var nights = checkOut.toEpochDay() - checkIn.toEpochDay();
-                var totalPrice = room.getPricePerNight().multiply(BigDecimal.valueOf(nights));
+                var totalPrice = Pricing.stay(room, Pricing.nights(checkIn, checkOut));
                 
                 // Random number of guests (1 to room capacity)
                 var numberOfGuests = 1 + RANDOM.nextInt(room.getCapacity());
@@ -402,18 +488,19 @@ public class DataInitializationService implements IDataInitializationService {
                     .checkInDate(checkIn)
                     .checkOutDate(checkOut)
                     .numberOfGuests(numberOfGuests)
-                    .totalPrice(totalPrice)
+                    .totalPriceMinor(totalPrice)
                     .status(status)
                     .specialRequests(specialRequest)
                     .build();
-                bookingService.save(booking);
-                bookingsCreated++;
+                bookingService.create(booking);
+                occupancy.add(booking);
+                bookingsCreated.incrementAndGet();
                 
             } catch (Exception e) {
                 LOG.warnf("Failed to create booking: %s", e.getMessage());
             }
         }
         
-        LOG.infof("Successfully created %d bookings", bookingsCreated);
+        LOG.infof("Successfully created %d bookings", bookingsCreated.get());
     }
 }
@@ -1,51 +1,87 @@
 package com.johnnyb.service;
 
+import com.johnnyb.cache.EntityCache;
+import com.johnnyb.cache.EntityCacheRegistry;
+import com.johnnyb.cache.ICatalogueResponseCache;
+import com.johnnyb.hotkey.HotKeyKind;
+import com.johnnyb.hotkey.IHotKeyTracker;
 import com.johnnyb.model.Hotel;
+import com.johnnyb.telemetry.jfr.Profiled;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
 
 import jakarta.annotation.PostConstruct;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+@Profiled
 @ApplicationScoped
 public class HotelService implements IHotelService {
 
     private static final Logger LOG = Logger.getLogger(HotelService.class);
     private static final String TABLE_NAME = "hotels";
+    /** Kept in step by RoomService */
+    private static final Set<String> MAINTAINED_ATTRIBUTES = Set.of("roomIds");
 
     @Inject
     DynamoDbEnhancedClient dynamoDb;
 
+    @Inject
+    DynamoDbClient dynamoDbClient;
+
+    @Inject
+    EntityCacheRegistry entityCaches;
+
+    @Inject
+    ICatalogueResponseCache catalogueCache;
+
+    @Inject
+    IHotKeyTracker hotKeys;
+
     private DynamoDbTable<Hotel> hotelTable;
+    private EntityCache<Hotel> hotelCache;
 
     @PostConstruct
     void init() {
+        hotelCache = entityCaches.create(TABLE_NAME, Hotel.HOTEL_TABLE_SCHEMA);
         hotelTable = dynamoDb.table(TABLE_NAME, Hotel.HOTEL_TABLE_SCHEMA);
     }
 
+    /** Writes the hotel's own attributes only, so the room ids maintained by RoomService are kept. */
     @Override
     public Hotel save(Hotel hotel) {
         LOG.infof("Saving hotel: %s", hotel.getId());
-        // Prevent DynamoDB empty set error
-        if (hotel.getRoomIds() != null && hotel.getRoomIds().isEmpty()) {
-            hotel.setRoomIds(null);
-        }
-        hotelTable.putItem(hotel);
+        var schema = hotelTable.tableSchema();
+        dynamoDbClient.updateItem(ItemUpdates.ownAttributes(TABLE_NAME, "id", schema.itemToMap(hotel, true),
+            schema.attributeNames(), MAINTAINED_ATTRIBUTES));
+        // The stored room ids may differ from the caller's copy
+        hotelCache.invalidate(hotel.getId());
+        catalogueCache.invalidate();
         return hotel;
     }
 
     @Override
     public Optional<Hotel> findById(String id) {
         LOG.infof("Finding hotel by ID: %s", id);
+        hotKeys.record(HotKeyKind.HOTEL, id);
+        var cached = hotelCache.get(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
         try {
             var hotel = hotelTable.getItem(Key.builder().partitionValue(id).build());
+            if (hotel != null) {
+                hotelCache.put(id, hotel);
+            }
             return Optional.ofNullable(hotel);
         } catch (ResourceNotFoundException e) {
             LOG.warnf("Hotel not found: %s", id);
@@ -53,6 +89,27 @@ public class HotelService implements IHotelService {
         }
     }
 
+    @Override
+    public List<Hotel> findByIds(Collection<String> ids) {
+        LOG.infof("Finding %d hotels by ID", ids.size());
+        var hotels = new ArrayList<Hotel>(ids.size());
+        var missing = new ArrayList<String>();
+        for (var id : ids) {
+            hotelCache.get(id).ifPresentOrElse(hotels::add, () -> missing.add(id));
+        }
+        if (!missing.isEmpty()) {
+            try {
+                for (var hotel : BatchGets.getAll(dynamoDb, hotelTable, Hotel.class, missing)) {
+                    hotelCache.put(hotel.getId(), hotel);
+                    hotels.add(hotel);
+                }
+            } catch (ResourceNotFoundException e) {
+                LOG.warn("Hotel table not found");
+            }
+        }
+        return hotels;
+    }
+
     @Override
     public List<Hotel> findAll() {
         LOG.info("Finding all hotels");
@@ -86,10 +143,29 @@ public class HotelService implements IHotelService {
     public void delete(String id) {
         LOG.infof("Deleting hotel: %s", id);
         hotelTable.deleteItem(Key.builder().partitionValue(id).build());
+        hotelCache.invalidate(id);
+        catalogueCache.invalidate();
+    }
+
+    @Override
+    public void evict(String id) {
+        hotelCache.invalidate(id);
+        catalogueCache.invalidate();
     }
 
     @Override
     public long count() {
         return findAll().size();
     }
+
+    @Override
+    public boolean isEmpty() {
+        try {
+            // Only the first page of a one-item scan is read
+            return hotelTable.scan(r -> r.limit(1)).iterator().next().items().isEmpty();
+        } catch (ResourceNotFoundException e) {
+            LOG.warn("Hotel table not found");
+            return true;
+        }
+    }
 }
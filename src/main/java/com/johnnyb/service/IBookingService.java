@@ -3,12 +3,18 @@ package com.johnnyb.service;
 import com.johnnyb.model.Booking;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface IBookingService {
     Booking save(Booking booking);
+    /** Saves a new booking and adds its id to the room's and customer's bookingIds in one transaction */
+    Booking create(Booking booking);
+    /** Marks the booking cancelled and removes its id from the room's and customer's bookingIds in one transaction */
+    Booking cancel(Booking booking);
     Optional<Booking> findById(String id);
+    List<Booking> findByIds(Collection<String> ids);
     List<Booking> findAll();
     List<Booking> findByCustomerId(String customerId);
     List<Booking> findByRoomId(String roomId);
@@ -0,0 +1,6 @@
+package com.johnnyb.service;
+
+public interface ICacheWarmupService {
+    boolean isComplete();
+    int preloadedCount();
+}
@@ -1,15 +1,25 @@
 package com.johnnyb.service;
 
 import com.johnnyb.model.Customer;
+import com.johnnyb.model.PaymentDetails;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ICustomerService {
     Customer save(Customer customer);
     Optional<Customer> findById(String id);
+    List<Customer> findByIds(Collection<String> ids);
     Optional<Customer> findByEmail(String email);
     List<Customer> findAll();
     void delete(String id);
+    /** Drops an item that was updated outside this service, such as by a booking transaction */
+    void evict(String id);
     long count();
+    /** Payment details are kept out of the customer item and cache; this always reads the payments table. */
+    PaymentDetails savePaymentDetails(PaymentDetails details);
+    Optional<PaymentDetails> findPaymentDetails(String customerId);
+    /** Moves card attributes left on a customer item to the payments table; false if there were none */
+    boolean moveLegacyPaymentDetails(String customerId);
 }
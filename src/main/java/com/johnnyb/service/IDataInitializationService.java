@@ -2,6 +2,19 @@ package com.johnnyb.service;
 
 import io.quarkus.runtime.StartupEvent;
 
+import java.util.Map;
+
 public interface IDataInitializationService {
+
+    enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        SKIPPED,
+        FAILED
+    }
+
     void onStart(StartupEvent ev);
+    Status status();
+    Map<String, Integer> progress();
 }
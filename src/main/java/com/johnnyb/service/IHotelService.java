@@ -2,15 +2,20 @@ package com.johnnyb.service;
 
 import com.johnnyb.model.Hotel;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface IHotelService {
     Hotel save(Hotel hotel);
     Optional<Hotel> findById(String id);
+    List<Hotel> findByIds(Collection<String> ids);
     List<Hotel> findAll();
     List<Hotel> findByCity(String city);
     List<Hotel> findByCountry(String country);
     void delete(String id);
+    /** Drops an item that was updated outside this service, such as a room's id being added to roomIds */
+    void evict(String id);
     long count();
+    boolean isEmpty();
 }
@@ -2,14 +2,18 @@ package com.johnnyb.service;
 
 import com.johnnyb.model.Room;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface IRoomService {
     Room save(Room room);
     Optional<Room> findById(String id);
+    List<Room> findByIds(Collection<String> ids);
     List<Room> findAll();
     List<Room> findByHotelId(String hotelId);
     void delete(String id);
+    /** Drops an item that was updated outside this service, such as by a booking transaction */
+    void evict(String id);
     long count();
 }
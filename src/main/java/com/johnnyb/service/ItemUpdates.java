@@ -0,0 +1,58 @@
+package com.johnnyb.service;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds {@code UpdateItem} requests that write a model's own attributes in place of a full
+ * {@code PutItem}. Attributes the model leaves empty are removed; attributes maintained by other
+ * writes (such as id sets kept in step by transactions) and attributes the model does not know
+ * about are left as they are.
+ */
+final class ItemUpdates {
+
+    private ItemUpdates() {
+    }
+
+    static UpdateItemRequest ownAttributes(String tableName, String keyName, Map<String, AttributeValue> item,
+                                           List<String> attributeNames, Set<String> maintainedElsewhere) {
+        var sets = new ArrayList<String>();
+        var removes = new ArrayList<String>();
+        var names = new HashMap<String, String>();
+        var values = new HashMap<String, AttributeValue>();
+        for (var i = 0; i < attributeNames.size(); i++) {
+            var name = attributeNames.get(i);
+            if (name.equals(keyName) || maintainedElsewhere.contains(name)) {
+                continue;
+            }
+            names.put("#a" + i, name);
+            var value = item.get(name);
+            if (value != null) {
+                values.put(":v" + i, value);
+                sets.add("#a" + i + " = :v" + i);
+            } else {
+                removes.add("#a" + i);
+            }
+        }
+        var expression = new StringBuilder();
+        if (!sets.isEmpty()) {
+            expression.append("SET ").append(String.join(", ", sets));
+        }
+        if (!removes.isEmpty()) {
+            expression.append(expression.isEmpty() ? "" : " ").append("REMOVE ").append(String.join(", ", removes));
+        }
+        return UpdateItemRequest.builder()
+            .tableName(tableName)
+            .key(Map.of(keyName, item.get(keyName)))
+            .updateExpression(expression.isEmpty() ? null : expression.toString())
+            .expressionAttributeNames(names.isEmpty() ? null : names)
+            .expressionAttributeValues(values.isEmpty() ? null : values)
+            .build();
+    }
+}
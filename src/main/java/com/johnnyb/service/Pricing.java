@@ -0,0 +1,40 @@
+package com.johnnyb.service;
+
+import com.johnnyb.model.Money;
+import com.johnnyb.model.Room;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Stay prices in minor units (see {@link Money}). Everything here is {@code long} arithmetic, so
+ * quoting many rooms does not allocate.
+ */
+public final class Pricing {
+
+    private Pricing() {
+    }
+
+    public static long nights(LocalDate checkIn, LocalDate checkOut) {
+        var nights = checkOut.toEpochDay() - checkIn.toEpochDay();
+        if (nights <= 0) {
+            throw new IllegalArgumentException("Check-out must be after check-in");
+        }
+        return nights;
+    }
+
+    public static long stay(Room room, long nights) {
+        if (room.getPricePerNightMinor() == Money.NONE) {
+            throw new IllegalArgumentException("Room " + room.getId() + " has no price");
+        }
+        return Money.times(room.getPricePerNightMinor(), nights);
+    }
+
+    public static long stay(List<Room> rooms, long nights) {
+        var total = 0L;
+        for (int i = 0; i < rooms.size(); i++) {
+            total = Money.plus(total, stay(rooms.get(i), nights));
+        }
+        return total;
+    }
+}
@@ -1,51 +1,106 @@
 package com.johnnyb.service;
 
+import com.johnnyb.cache.EntityCache;
+import com.johnnyb.cache.EntityCacheRegistry;
+import com.johnnyb.cache.ICatalogueResponseCache;
+import com.johnnyb.hotkey.HotKeyKind;
+import com.johnnyb.hotkey.IHotKeyTracker;
 import com.johnnyb.model.Room;
+import com.johnnyb.telemetry.jfr.Profiled;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
 
 import jakarta.annotation.PostConstruct;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+@Profiled
 @ApplicationScoped
 public class RoomService implements IRoomService {
 
     private static final Logger LOG = Logger.getLogger(RoomService.class);
     private static final String TABLE_NAME = "rooms";
+    static final String HOTELS_TABLE_NAME = "hotels";
+    /** Kept in step by booking transactions */
+    private static final Set<String> MAINTAINED_ATTRIBUTES = Set.of("bookingIds");
 
     @Inject
     DynamoDbEnhancedClient dynamoDb;
 
+    @Inject
+    DynamoDbClient dynamoDbClient;
+
+    @Inject
+    IHotelService hotelService;
+
+    @Inject
+    EntityCacheRegistry entityCaches;
+
+    @Inject
+    ICatalogueResponseCache catalogueCache;
+
+    @Inject
+    IHotKeyTracker hotKeys;
+
     private DynamoDbTable<Room> roomTable;
+    private EntityCache<Room> roomCache;
 
     @PostConstruct
     void init() {
+        roomCache = entityCaches.create(TABLE_NAME, Room.ROOM_TABLE_SCHEMA);
         roomTable = dynamoDb.table(TABLE_NAME, Room.ROOM_TABLE_SCHEMA);
     }
 
+    /** Writes the room's own attributes only, so the booking ids maintained by booking transactions are kept. */
     @Override
     public Room save(Room room) {
         LOG.infof("Saving room: %s", room.getId());
-        // Prevent DynamoDB empty set error
-        if (room.getBookingIds() != null && room.getBookingIds().isEmpty()) {
-            room.setBookingIds(null);
+        var schema = roomTable.tableSchema();
+        var update = ItemUpdates.ownAttributes(TABLE_NAME, "id", schema.itemToMap(room, true),
+            schema.attributeNames(), MAINTAINED_ATTRIBUTES);
+        var previous = dynamoDbClient.updateItem(update.toBuilder().returnValues(ReturnValue.ALL_OLD).build())
+            .attributes();
+        // The stored booking ids may differ from the caller's copy
+        roomCache.invalidate(room.getId());
+        var previousHotelId = hotelIdOf(previous);
+        if (previousHotelId != null && !previousHotelId.equals(room.getHotelId())) {
+            updateHotelRoomIds(previousHotelId, "DELETE", room.getId());
         }
-        roomTable.putItem(room);
+        // Also repairs hotels whose roomIds were written before they were kept in sync
+        updateHotelRoomIds(room.getHotelId(), "ADD", room.getId());
+        catalogueCache.invalidate();
         return room;
     }
 
     @Override
     public Optional<Room> findById(String id) {
         LOG.infof("Finding room by ID: %s", id);
+        hotKeys.record(HotKeyKind.ROOM, id);
+        var cached = roomCache.get(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
         try {
             var room = roomTable.getItem(Key.builder().partitionValue(id).build());
+            if (room != null) {
+                roomCache.put(id, room);
+            }
             return Optional.ofNullable(room);
         } catch (ResourceNotFoundException e) {
             LOG.warnf("Room not found: %s", id);
@@ -53,6 +108,28 @@ public class RoomService implements IRoomService {
         }
     }
 
+    @Override
+    public List<Room> findByIds(Collection<String> ids) {
+        LOG.infof("Finding %d rooms by ID", ids.size());
+        var rooms = new ArrayList<Room>(ids.size());
+        var missing = new ArrayList<String>();
+        // One room per distinct id, whether it is cached or not
+        for (var id : new LinkedHashSet<>(ids)) {
+            roomCache.get(id).ifPresentOrElse(rooms::add, () -> missing.add(id));
+        }
+        if (!missing.isEmpty()) {
+            try {
+                for (var room : BatchGets.getAll(dynamoDb, roomTable, Room.class, missing)) {
+                    roomCache.put(room.getId(), room);
+                    rooms.add(room);
+                }
+            } catch (ResourceNotFoundException e) {
+                LOG.warn("Room table not found");
+            }
+        }
+        return rooms;
+    }
+
     @Override
     public List<Room> findAll() {
         LOG.info("Finding all rooms");
@@ -69,6 +146,7 @@ public class RoomService implements IRoomService {
     @Override
     public List<Room> findByHotelId(String hotelId) {
         LOG.infof("Finding rooms by hotel ID: %s", hotelId);
+        hotKeys.record(HotKeyKind.HOTEL, hotelId);
         return findAll().stream()
                 .filter(r -> hotelId.equals(r.getHotelId()))
                 .toList();
@@ -77,7 +155,50 @@ public class RoomService implements IRoomService {
     @Override
     public void delete(String id) {
         LOG.infof("Deleting room: %s", id);
-        roomTable.deleteItem(Key.builder().partitionValue(id).build());
+        var previous = dynamoDbClient.deleteItem(DeleteItemRequest.builder()
+            .tableName(TABLE_NAME)
+            .key(Map.of("id", AttributeValue.builder().s(id).build()))
+            .returnValues(ReturnValue.ALL_OLD)
+            .build()).attributes();
+        roomCache.invalidate(id);
+        updateHotelRoomIds(hotelIdOf(previous), "DELETE", id);
+        catalogueCache.invalidate();
+    }
+
+    private static String hotelIdOf(Map<String, AttributeValue> item) {
+        var hotelId = item != null ? item.get("hotelId") : null;
+        return hotelId != null ? hotelId.s() : null;
+    }
+
+    /** Adds the room id to or deletes it from the hotel's roomIds; rooms of unknown hotels are left out. */
+    private void updateHotelRoomIds(String hotelId, String action, String roomId) {
+        if (hotelId == null) {
+            return;
+        }
+        try {
+            dynamoDbClient.updateItem(hotelRoomIdsUpdate(hotelId, action, roomId));
+        } catch (ConditionalCheckFailedException e) {
+            LOG.debugf("Hotel %s not found, roomIds not updated for room %s", hotelId, roomId);
+        } finally {
+            hotelService.evict(hotelId);
+        }
+    }
+
+    static UpdateItemRequest hotelRoomIdsUpdate(String hotelId, String action, String roomId) {
+        return UpdateItemRequest.builder()
+            .tableName(HOTELS_TABLE_NAME)
+            .key(Map.of("id", AttributeValue.builder().s(hotelId).build()))
+            .updateExpression(action + " roomIds :room")
+            .conditionExpression("attribute_exists(id)")
+            .expressionAttributeValues(Map.of(":room", AttributeValue.builder().ss(roomId).build()))
+            .build();
+    }
+
+    @Override
+    public void evict(String id) {
+        roomCache.invalidate(id);
+        // Cached roomsByHotel results hold the room's bookingIds, which Room.bookings resolves
+        catalogueCache.invalidate();
     }
 
     @Override
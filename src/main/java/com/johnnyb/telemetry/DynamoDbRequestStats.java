@@ -0,0 +1,50 @@
+package com.johnnyb.telemetry;
+
+import jakarta.enterprise.context.RequestScoped;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DynamoDB work done on behalf of the current request, fed by {@link DynamoDbTracingInterceptor}.
+ * Adders are used because resolvers of one GraphQL request may complete on different threads.
+ */
+@RequestScoped
+public class DynamoDbRequestStats {
+
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder itemsRead = new LongAdder();
+    private final DoubleAdder readUnits = new DoubleAdder();
+    private final DoubleAdder writeUnits = new DoubleAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    void record(DynamoDbTracingInterceptor.CallResult result) {
+        operations.increment();
+        if (DynamoDbTracingInterceptor.isRead(result.operation())) {
+            itemsRead.add(result.items());
+        }
+        readUnits.add(result.readUnits());
+        writeUnits.add(result.writeUnits());
+        nanos.add((long) (result.durationMillis() * 1_000_000));
+    }
+
+    public long operations() {
+        return operations.sum();
+    }
+
+    public long itemsRead() {
+        return itemsRead.sum();
+    }
+
+    public double readUnits() {
+        return readUnits.sum();
+    }
+
+    public double writeUnits() {
+        return writeUnits.sum();
+    }
+
+    public double durationMillis() {
+        return nanos.sum() / 1e6;
+    }
+}
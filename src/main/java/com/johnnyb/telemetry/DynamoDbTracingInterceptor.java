@@ -0,0 +1,332 @@
+package com.johnnyb.telemetry;
+
+import com.johnnyb.telemetry.jfr.DynamoDbCallEvent;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.quarkus.arc.Arc;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactGetItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Makes DynamoDB calls visible in traces and metrics. Every operation becomes a client span under
+ * the current GraphQL span, tagged with table, operation, item count and retries; consumed
+ * capacity is requested on every call and recorded, together with latency, per table and operation.
+ */
+@ApplicationScoped
+public class DynamoDbTracingInterceptor implements ExecutionInterceptor {
+
+    static final AttributeKey<String> DB_SYSTEM = AttributeKey.stringKey("db.system");
+    static final AttributeKey<String> DB_OPERATION = AttributeKey.stringKey("db.operation");
+    static final AttributeKey<String> TABLE = AttributeKey.stringKey("aws.dynamodb.table_names");
+    static final AttributeKey<Long> ITEM_COUNT = AttributeKey.longKey("aws.dynamodb.item_count");
+    static final AttributeKey<Long> RETRIES = AttributeKey.longKey("aws.dynamodb.retries");
+    static final AttributeKey<Double> READ_UNITS = AttributeKey.doubleKey("aws.dynamodb.consumed_read_units");
+    static final AttributeKey<Double> WRITE_UNITS = AttributeKey.doubleKey("aws.dynamodb.consumed_write_units");
+
+    private static final ExecutionAttribute<Call> CALL = new ExecutionAttribute<>("otel-motel.dynamodb.call");
+    private static final Set<String> READ_OPERATIONS =
+        Set.of("GetItem", "BatchGetItem", "Query", "Scan", "TransactGetItems");
+
+    @Inject
+    Tracer tracer;
+
+    @Inject
+    Meter meter;
+
+    @Inject
+    DynamoDbRequestStats requestStats;
+
+    private DoubleHistogram latency;
+    private DoubleHistogram readUnits;
+    private DoubleHistogram writeUnits;
+
+    /**
+     * Per-execution state carried between interceptor callbacks.
+     */
+    static final class Call {
+        final Span span;
+        final String operation;
+        final String table;
+        final long startNanos = System.nanoTime();
+        final DynamoDbCallEvent event = new DynamoDbCallEvent();
+        int attempts;
+
+        Call(Span span, String operation, String table) {
+            this.span = span;
+            this.operation = operation;
+            this.table = table;
+            event.begin();
+        }
+    }
+
+    /**
+     * Outcome of a completed DynamoDB call.
+     */
+    public record CallResult(String operation, String table, long items, double readUnits, double writeUnits,
+                             int retries, double durationMillis) {
+    }
+
+    @PostConstruct
+    void init() {
+        latency = meter.histogramBuilder("dynamodb.client.duration")
+            .setDescription("Duration of DynamoDB operations including retries")
+            .setUnit("ms")
+            .build();
+        readUnits = meter.histogramBuilder("dynamodb.consumed.read_units")
+            .setDescription("Read capacity units consumed per DynamoDB operation")
+            .setUnit("{rcu}")
+            .build();
+        writeUnits = meter.histogramBuilder("dynamodb.consumed.write_units")
+            .setDescription("Write capacity units consumed per DynamoDB operation")
+            .setUnit("{wcu}")
+            .build();
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        var operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        var table = tableNames(context.request());
+        var span = tracer.spanBuilder("DynamoDB." + operation)
+            .setSpanKind(SpanKind.CLIENT)
+            .setAttribute(DB_SYSTEM, "dynamodb")
+            .setAttribute(DB_OPERATION, operation)
+            .setAttribute(TABLE, table)
+            .startSpan();
+        executionAttributes.putAttribute(CALL, new Call(span, operation, table));
+    }
+
+    @Override
+    public SdkRequest modifyRequest(Context.ModifyRequest context, ExecutionAttributes executionAttributes) {
+        var request = context.request();
+        var total = ReturnConsumedCapacity.TOTAL;
+        if (request instanceof GetItemRequest r) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof PutItemRequest r) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof UpdateItemRequest r) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof DeleteItemRequest r) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof QueryRequest r) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof ScanRequest r) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof BatchGetItemRequest r) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof BatchWriteItemRequest r) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof TransactGetItemsRequest r) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (request instanceof TransactWriteItemsRequest r) {
+            return r.toBuilder().returnConsumedCapacity(total).build();
+        }
+        return request;
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        var call = executionAttributes.getAttribute(CALL);
+        if (call != null) {
+            call.attempts++;
+        }
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        var call = executionAttributes.getAttribute(CALL);
+        if (call == null) {
+            return;
+        }
+        var response = context.response();
+        var capacity = consumedCapacity(response);
+        var read = 0.0;
+        var write = 0.0;
+        for (ConsumedCapacity consumed : capacity) {
+            read += readUnits(call.operation, consumed);
+            write += writeUnits(call.operation, consumed);
+        }
+        var result = new CallResult(call.operation, call.table, itemCount(response), read, write,
+            Math.max(0, call.attempts - 1), (System.nanoTime() - call.startNanos) / 1e6);
+
+        call.span.setAttribute(ITEM_COUNT, result.items());
+        call.span.setAttribute(RETRIES, result.retries());
+        call.span.setAttribute(READ_UNITS, read);
+        call.span.setAttribute(WRITE_UNITS, write);
+        call.span.end();
+        record(result, call.event, false);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        var call = executionAttributes.getAttribute(CALL);
+        if (call == null) {
+            return;
+        }
+        var result = new CallResult(call.operation, call.table, 0, 0, 0, Math.max(0, call.attempts - 1),
+            (System.nanoTime() - call.startNanos) / 1e6);
+        call.span.setAttribute(RETRIES, result.retries());
+        call.span.recordException(context.exception());
+        call.span.setStatus(StatusCode.ERROR, context.exception().getMessage());
+        call.span.end();
+        record(result, call.event, true);
+    }
+
+    private void record(CallResult result, DynamoDbCallEvent event, boolean failed) {
+        if (event.shouldCommit()) {
+            event.operation = result.operation();
+            event.table = result.table();
+            event.itemCount = result.items();
+            event.readUnits = result.readUnits();
+            event.writeUnits = result.writeUnits();
+            event.retries = result.retries();
+            event.failed = failed;
+            event.commit();
+        }
+        // Startup seeding and background work run outside a request
+        if (Arc.container().requestContext().isActive()) {
+            requestStats.record(result);
+        }
+        var attributes = Attributes.of(DB_OPERATION, result.operation(), TABLE, result.table());
+        latency.record(result.durationMillis(), attributes);
+        if (isRead(result.operation())) {
+            readUnits.record(result.readUnits(), attributes);
+        } else {
+            writeUnits.record(result.writeUnits(), attributes);
+        }
+    }
+
+    static boolean isRead(String operation) {
+        return READ_OPERATIONS.contains(operation);
+    }
+
+    static String tableNames(SdkRequest request) {
+        var table = request.getValueForField("TableName", String.class);
+        if (table.isPresent()) {
+            return table.get();
+        }
+        var names = new TreeSet<String>();
+        if (request.getValueForField("RequestItems", Object.class).orElse(null) instanceof Map<?, ?> items) {
+            items.keySet().forEach(name -> names.add(String.valueOf(name)));
+        }
+        if (request.getValueForField("TransactItems", Object.class).orElse(null) instanceof Collection<?> items) {
+            items.stream()
+                .map(DynamoDbTracingInterceptor::transactTable)
+                .filter(name -> name != null)
+                .forEach(names::add);
+        }
+        return names.isEmpty() ? "unknown" : String.join(",", names);
+    }
+
+    private static String transactTable(Object item) {
+        if (!(item instanceof SdkPojo pojo)) {
+            return null;
+        }
+        // TransactWriteItem/TransactGetItem wrap exactly one of Put, Update, Delete, ConditionCheck or Get
+        for (var field : pojo.sdkFields()) {
+            var value = field.getValueOrDefault(item);
+            if (value instanceof SdkPojo nested) {
+                for (var nestedField : nested.sdkFields()) {
+                    if ("TableName".equals(nestedField.memberName())) {
+                        return (String) nestedField.getValueOrDefault(value);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    static List<ConsumedCapacity> consumedCapacity(SdkResponse response) {
+        var single = response.getValueForField("ConsumedCapacity", Object.class);
+        if (single.isEmpty()) {
+            return List.of();
+        }
+        if (single.get() instanceof ConsumedCapacity consumed) {
+            return List.of(consumed);
+        }
+        if (single.get() instanceof Collection<?> list) {
+            return list.stream()
+                .filter(ConsumedCapacity.class::isInstance)
+                .map(ConsumedCapacity.class::cast)
+                .toList();
+        }
+        return List.of();
+    }
+
+    static long itemCount(SdkResponse response) {
+        var count = response.getValueForField("Count", Integer.class);
+        if (count.isPresent()) {
+            return count.get();
+        }
+        if (response.getValueForField("Item", Object.class).orElse(null) instanceof Map<?, ?> item && !item.isEmpty()) {
+            return 1;
+        }
+        var responses = response.getValueForField("Responses", Object.class);
+        if (responses.isPresent()) {
+            if (responses.get() instanceof Map<?, ?> byTable) {
+                return byTable.values().stream()
+                    .mapToLong(items -> items instanceof Collection<?> c ? c.size() : 0)
+                    .sum();
+            }
+            if (responses.get() instanceof Collection<?> items) {
+                return items.size();
+            }
+        }
+        return 0;
+    }
+
+    private static double readUnits(String operation, ConsumedCapacity consumed) {
+        if (consumed.readCapacityUnits() != null) {
+            return consumed.readCapacityUnits();
+        }
+        return READ_OPERATIONS.contains(operation) && consumed.capacityUnits() != null ? consumed.capacityUnits() : 0;
+    }
+
+    private static double writeUnits(String operation, ConsumedCapacity consumed) {
+        if (consumed.writeCapacityUnits() != null) {
+            return consumed.writeCapacityUnits();
+        }
+        return !READ_OPERATIONS.contains(operation) && consumed.capacityUnits() != null ? consumed.capacityUnits() : 0;
+    }
+}
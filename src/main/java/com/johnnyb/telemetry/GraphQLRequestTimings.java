@@ -0,0 +1,58 @@
+package com.johnnyb.telemetry;
+
+/**
+ * Phase durations of one GraphQL request, recorded by
+ * {@code com.johnnyb.graphql.ServerTimingInstrumentation} and reported in the {@code Server-Timing}
+ * response header. Held in the request's routing context under {@link #KEY} rather than the CDI
+ * request context, which may no longer be active when the response headers are written.
+ */
+public class GraphQLRequestTimings {
+
+    public static final String KEY = GraphQLRequestTimings.class.getName();
+
+    private volatile long parseNanos;
+    private volatile long validateNanos;
+    private volatile long executeNanos;
+    private volatile long executionEndNanos;
+    private volatile long dynamoDbNanos;
+
+    public void recordParse(long nanos) {
+        parseNanos += nanos;
+    }
+
+    public void recordValidate(long nanos) {
+        validateNanos += nanos;
+    }
+
+    public void recordExecute(long nanos) {
+        executeNanos += nanos;
+        executionEndNanos = System.nanoTime();
+    }
+
+    public void recordDynamoDb(long nanos) {
+        dynamoDbNanos = nanos;
+    }
+
+    public long parseNanos() {
+        return parseNanos;
+    }
+
+    public long validateNanos() {
+        return validateNanos;
+    }
+
+    public long executeNanos() {
+        return executeNanos;
+    }
+
+    /**
+     * {@link System#nanoTime()} when execution finished, or 0 if no operation was executed.
+     */
+    public long executionEndNanos() {
+        return executionEndNanos;
+    }
+
+    public long dynamoDbNanos() {
+        return dynamoDbNanos;
+    }
+}
@@ -0,0 +1,48 @@
+package com.johnnyb.telemetry;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import java.util.List;
+
+/**
+ * Parent-based ratio sampler. Root spans are sampled by trace id ratio and children follow their
+ * parent. With retention enabled, traces that lose the ratio draw are still recorded (but not
+ * exported) so {@link TraceRetentionProcessor} can keep them if they turn out to fail or be slow.
+ */
+public class RetainingSampler implements Sampler {
+
+    private final Sampler ratio;
+    private final boolean retain;
+    private final SamplingResult notSampled;
+
+    public RetainingSampler(double ratio, boolean retain) {
+        this.ratio = Sampler.traceIdRatioBased(ratio);
+        this.retain = retain;
+        this.notSampled = retain ? SamplingResult.recordOnly() : SamplingResult.drop();
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                       Attributes attributes, List<LinkData> parentLinks) {
+        var parent = Span.fromContext(parentContext).getSpanContext();
+        if (parent.isValid()) {
+            return parent.isSampled() ? SamplingResult.recordAndSample() : notSampled;
+        }
+        var decision = ratio.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+        return decision.getDecision() == SamplingDecision.RECORD_AND_SAMPLE
+            ? decision
+            : notSampled;
+    }
+
+    @Override
+    public String getDescription() {
+        return "RetainingSampler{ratio=" + ratio.getDescription() + ", retain=" + retain + "}";
+    }
+}
@@ -0,0 +1,216 @@
+package com.johnnyb.telemetry;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.DelegatingSpanData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Keeps traces that were recorded but not sampled (see {@link RetainingSampler}) in memory until
+ * their local root span ends, then exports them if any span failed or the root took longer than
+ * the slow threshold. Everything else is discarded without ever reaching the exporter.
+ */
+public class TraceRetentionProcessor implements SpanProcessor {
+
+    private final long slowThresholdNanos;
+    private final int maxTraces;
+    private final int maxSpansPerTrace;
+    private final Supplier<List<SpanProcessor>> exporters;
+    private final Map<String, TraceBuffer> buffers = new ConcurrentHashMap<>();
+
+    private final LongAdder retained = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    private static final class TraceBuffer {
+        final long createdNanos = System.nanoTime();
+        final List<ReadableSpan> spans = new ArrayList<>();
+        boolean failed;
+    }
+
+    public TraceRetentionProcessor(long slowThresholdMillis, int maxTraces, int maxSpansPerTrace,
+                                   Supplier<List<SpanProcessor>> exporters) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.maxTraces = maxTraces;
+        this.maxSpansPerTrace = maxSpansPerTrace;
+        this.exporters = exporters;
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        var context = span.getSpanContext();
+        if (context.isSampled()) {
+            return;
+        }
+
+        var traceId = context.getTraceId();
+        var buffer = buffers.get(traceId);
+        if (buffer == null) {
+            if (buffers.size() >= maxTraces) {
+                evictStale();
+                if (buffers.size() >= maxTraces) {
+                    overflowed.increment();
+                    return;
+                }
+            }
+            buffer = buffers.computeIfAbsent(traceId, id -> new TraceBuffer());
+        }
+
+        synchronized (buffer) {
+            if (buffer.spans.size() < maxSpansPerTrace) {
+                buffer.spans.add(span);
+            }
+            if (span.toSpanData().getStatus().getStatusCode() == StatusCode.ERROR) {
+                buffer.failed = true;
+            }
+        }
+
+        var parent = span.getParentSpanContext();
+        if (parent.isValid() && !parent.isRemote()) {
+            return;
+        }
+        buffers.remove(traceId);
+        List<ReadableSpan> spans;
+        synchronized (buffer) {
+            if (!buffer.failed && span.getLatencyNanos() < slowThresholdNanos) {
+                discarded.increment();
+                return;
+            }
+            spans = List.copyOf(buffer.spans);
+        }
+        retained.increment();
+        for (SpanProcessor exporter : exporters.get()) {
+            for (ReadableSpan buffered : spans) {
+                exporter.onEnd(new SampledSpan(buffered));
+            }
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    /**
+     * Drops traces whose local root never ended (or ended on another node) within a minute.
+     */
+    private void evictStale() {
+        var cutoff = System.nanoTime() - TimeUnit.MINUTES.toNanos(1);
+        buffers.values().removeIf(buffer -> buffer.createdNanos < cutoff);
+    }
+
+    public long getRetainedCount() {
+        return retained.sum();
+    }
+
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    public long getOverflowCount() {
+        return overflowed.sum();
+    }
+
+    /**
+     * View of a recorded span with the sampled flag set, so exporting processors accept it.
+     */
+    static final class SampledSpan implements ReadableSpan {
+        private final ReadableSpan delegate;
+        private final SpanContext context;
+
+        SampledSpan(ReadableSpan delegate) {
+            this.delegate = delegate;
+            var original = delegate.getSpanContext();
+            this.context = SpanContext.create(original.getTraceId(), original.getSpanId(), TraceFlags.getSampled(),
+                original.getTraceState());
+        }
+
+        @Override
+        public SpanContext getSpanContext() {
+            return context;
+        }
+
+        @Override
+        public SpanContext getParentSpanContext() {
+            return delegate.getParentSpanContext();
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public SpanData toSpanData() {
+            return new DelegatingSpanData(delegate.toSpanData()) {
+                @Override
+                public SpanContext getSpanContext() {
+                    return context;
+                }
+            };
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public InstrumentationLibraryInfo getInstrumentationLibraryInfo() {
+            return delegate.getInstrumentationLibraryInfo();
+        }
+
+        @Override
+        public InstrumentationScopeInfo getInstrumentationScopeInfo() {
+            return delegate.getInstrumentationScopeInfo();
+        }
+
+        @Override
+        public boolean hasEnded() {
+            return delegate.hasEnded();
+        }
+
+        @Override
+        public long getLatencyNanos() {
+            return delegate.getLatencyNanos();
+        }
+
+        @Override
+        public SpanKind getKind() {
+            return delegate.getKind();
+        }
+
+        @Override
+        public <T> T getAttribute(AttributeKey<T> key) {
+            return delegate.getAttribute(key);
+        }
+
+        @Override
+        public Attributes getAttributes() {
+            return delegate.getAttributes();
+        }
+    }
+}
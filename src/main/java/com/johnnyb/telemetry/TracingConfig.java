@@ -0,0 +1,71 @@
+package com.johnnyb.telemetry;
+
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Selects the trace sampling strategy. Quarkus uses the {@link Sampler} bean produced here in place
+ * of {@code quarkus.otel.traces.sampler} and registers the retention processor next to the exporter.
+ */
+@ApplicationScoped
+public class TracingConfig {
+
+    private static final Logger LOG = Logger.getLogger(TracingConfig.class);
+
+    public enum SamplerMode {
+        ALWAYS_ON,
+        RATIO,
+        RATIO_WITH_RETENTION
+    }
+
+    @ConfigProperty(name = "tracing.sampler.mode", defaultValue = "ratio_with_retention")
+    String mode;
+
+    @ConfigProperty(name = "tracing.sampler.ratio", defaultValue = "0.1")
+    double ratio;
+
+    @ConfigProperty(name = "tracing.retention.slow-threshold-ms", defaultValue = "1000")
+    long slowThresholdMillis;
+
+    @ConfigProperty(name = "tracing.retention.max-traces", defaultValue = "10000")
+    int maxTraces;
+
+    @ConfigProperty(name = "tracing.retention.max-spans-per-trace", defaultValue = "512")
+    int maxSpansPerTrace;
+
+    @Inject
+    @Any
+    Instance<SpanProcessor> spanProcessors;
+
+    @Produces
+    @Singleton
+    public Sampler sampler() {
+        var samplerMode = SamplerMode.valueOf(mode.trim().toUpperCase().replace('-', '_'));
+        LOG.infof("Trace sampling: mode=%s, ratio=%s", samplerMode, ratio);
+        return switch (samplerMode) {
+            case ALWAYS_ON -> Sampler.alwaysOn();
+            case RATIO -> new RetainingSampler(ratio, false);
+            case RATIO_WITH_RETENTION -> new RetainingSampler(ratio, true);
+        };
+    }
+
+    /**
+     * Only sees spans when the sampler records without sampling, so it is inert in the other modes.
+     */
+    @Produces
+    @Singleton
+    public SpanProcessor traceRetentionProcessor() {
+        return new TraceRetentionProcessor(slowThresholdMillis, maxTraces, maxSpansPerTrace,
+            () -> spanProcessors.stream()
+                .filter(processor -> !(processor instanceof TraceRetentionProcessor))
+                .toList());
+    }
+}
@@ -0,0 +1,37 @@
+package com.johnnyb.telemetry.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.johnnyb.DynamoDbCall")
+@Label("DynamoDB Call")
+@Description("DynamoDB operation including retries")
+@Category({"otel-motel", "DynamoDB"})
+@StackTrace(false)
+public class DynamoDbCallEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Table")
+    public String table;
+
+    @Label("Item Count")
+    public long itemCount;
+
+    @Label("Read Capacity Units")
+    public double readUnits;
+
+    @Label("Write Capacity Units")
+    public double writeUnits;
+
+    @Label("Retries")
+    public int retries;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,116 @@
+package com.johnnyb.telemetry.jfr;
+
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Management endpoints to profile a running node on demand (admin role, see application.properties):
+ * <ul>
+ *   <li>{@code POST /admin/jfr/start?maxAge=600} starts a recording with the application events</li>
+ *   <li>{@code GET /admin/jfr/dump} downloads what has been recorded so far; recording continues</li>
+ *   <li>{@code POST /admin/jfr/stop} stops and discards the recording</li>
+ * </ul>
+ * Application events are only emitted while a recording is running, so the steady-state cost is a
+ * disabled-event check.
+ */
+@ApplicationScoped
+public class FlightRecorderRoutes {
+
+    private static final Logger LOG = Logger.getLogger(FlightRecorderRoutes.class);
+    private static final String BASE_PATH = "/admin/jfr";
+
+    @ConfigProperty(name = "jfr.recording.settings", defaultValue = "default")
+    String settings;
+
+    @ConfigProperty(name = "jfr.recording.max-age-seconds", defaultValue = "600")
+    long defaultMaxAgeSeconds;
+
+    private Recording recording;
+
+    void init(@Observes Router router) {
+        router.post(BASE_PATH + "/start").blockingHandler(this::start);
+        router.get(BASE_PATH + "/dump").blockingHandler(this::dump);
+        router.post(BASE_PATH + "/stop").blockingHandler(this::stop);
+    }
+
+    private synchronized void start(RoutingContext context) {
+        if (recording != null) {
+            context.response().setStatusCode(409).end("Recording already running since " + recording.getStartTime());
+            return;
+        }
+        try {
+            var maxAge = context.queryParam("maxAge").stream().findFirst()
+                .map(Long::parseLong)
+                .orElse(defaultMaxAgeSeconds);
+            var newRecording = newRecording();
+            newRecording.setName("otel-motel");
+            newRecording.setMaxAge(Duration.ofSeconds(maxAge));
+            newRecording.setToDisk(true);
+            for (var event : List.of(ServiceCallEvent.class, DynamoDbCallEvent.class, CacheLookupEvent.class,
+                    GraphQLFieldEvent.class)) {
+                newRecording.enable(event).withoutStackTrace();
+            }
+            newRecording.start();
+            recording = newRecording;
+            LOG.infof("Started flight recording (settings=%s, maxAge=%ds)", settings, maxAge);
+            context.response().setStatusCode(201).end("Recording started");
+        } catch (NumberFormatException e) {
+            context.response().setStatusCode(400).end("maxAge must be a number of seconds");
+        }
+    }
+
+    private Recording newRecording() {
+        try {
+            return new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            // Native images do not ship the JDK's .jfc files; record the application events only
+            LOG.warnf("Could not load JFR settings %s (%s), recording application events only", settings, e.getMessage());
+            return new Recording();
+        }
+    }
+
+    private synchronized void dump(RoutingContext context) {
+        if (recording == null) {
+            context.response().setStatusCode(404).end("No recording running");
+            return;
+        }
+        try {
+            var file = Files.createTempFile("otel-motel-", ".jfr");
+            recording.dump(file);
+            LOG.infof("Dumped flight recording to %s (%d bytes)", file, Files.size(file));
+            context.response()
+                .putHeader("Content-Type", "application/octet-stream")
+                .putHeader("Content-Disposition",
+                    "attachment; filename=\"otel-motel-" + Instant.now().getEpochSecond() + ".jfr\"")
+                .sendFile(file.toString())
+                .onComplete(result -> file.toFile().delete());
+        } catch (IOException e) {
+            LOG.error("Could not dump flight recording", e);
+            context.response().setStatusCode(500).end("Could not dump recording");
+        }
+    }
+
+    private synchronized void stop(RoutingContext context) {
+        if (recording == null) {
+            context.response().setStatusCode(404).end("No recording running");
+            return;
+        }
+        recording.close();
+        recording = null;
+        LOG.info("Stopped flight recording");
+        context.response().setStatusCode(204).end();
+    }
+}
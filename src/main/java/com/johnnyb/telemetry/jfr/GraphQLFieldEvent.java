@@ -0,0 +1,25 @@
+package com.johnnyb.telemetry.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.johnnyb.GraphQLField")
+@Label("GraphQL Field")
+@Description("Resolution of a non-trivial GraphQL field")
+@Category({"otel-motel", "GraphQL"})
+@StackTrace(false)
+public class GraphQLFieldEvent extends Event {
+
+    @Label("Field")
+    public String field;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Failed")
+    public boolean failed;
+}
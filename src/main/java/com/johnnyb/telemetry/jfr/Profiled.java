@@ -0,0 +1,18 @@
+package com.johnnyb.telemetry.jfr;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Emits a {@link ServiceCallEvent} for every business method of the annotated bean while a
+ * flight recording is running.
+ */
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Profiled {
+}
@@ -0,0 +1,28 @@
+package com.johnnyb.telemetry.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.johnnyb.ServiceCall")
+@Label("Service Call")
+@Description("Invocation of an I*Service method")
+@Category({"otel-motel", "Services"})
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+    @Label("Service")
+    public String service;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Entity Id")
+    public String entityId;
+
+    @Label("Item Count")
+    public long itemCount;
+}
@@ -0,0 +1,55 @@
+package com.johnnyb.telemetry.jfr;
+
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Profiled
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class ServiceCallInterceptor {
+
+    @AroundInvoke
+    Object profile(InvocationContext context) throws Exception {
+        var event = new ServiceCallEvent();
+        if (!event.isEnabled()) {
+            return context.proceed();
+        }
+        event.begin();
+        Object result = null;
+        try {
+            result = context.proceed();
+            return result;
+        } finally {
+            event.service = context.getMethod().getDeclaringClass().getSimpleName();
+            event.method = context.getMethod().getName();
+            event.entityId = entityId(context.getParameters());
+            event.itemCount = itemCount(result);
+            event.commit();
+        }
+    }
+
+    private static String entityId(Object[] parameters) {
+        if (parameters == null || parameters.length == 0) {
+            return null;
+        }
+        return parameters[0] instanceof String id ? id : null;
+    }
+
+    private static long itemCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number number) {
+            return number.longValue();
+        }
+        return result == null ? 0 : 1;
+    }
+}
@@ -10,6 +10,8 @@ import './App.css';
 const client = new ApolloClient({
   link: new HttpLink({
     uri: '/graphql',
+    // Queries go out as GET so catalogue responses can be revalidated with ETags
+    useGETForQueries: true,
   }),
   cache: new InMemoryCache(),
 });
@@ -17,19 +17,14 @@ const GET_HOTEL_WITH_ROOMS = gql`
       phone
       starRating
       description
-    }
-  }
-`;
-
-const GET_ROOMS_BY_HOTEL = gql`
-  query GetRoomsByHotel($hotelId: String!) {
-    roomsByHotel(hotelId: $hotelId) {
-      id
-      roomNumber
-      roomType
-      pricePerNight
-      capacity
-      description
+      rooms {
+        id
+        roomNumber
+        roomType
+        pricePerNight
+        capacity
+        description
+      }
     }
   }
 `;
@@ -71,10 +66,6 @@ function HotelDetails() {
     variables: { id },
   });
 
-  const { loading: roomsLoading, error: roomsError, data: roomsData } = useQuery(GET_ROOMS_BY_HOTEL, {
-    variables: { hotelId: id },
-  });
-
   const [createBooking, { loading: bookingLoading }] = useMutation(CREATE_BOOKING, {
     onCompleted: () => {
       setBookingSuccess(true);
@@ -85,17 +76,17 @@ function HotelDetails() {
     },
   });
 
-  if (loading || roomsLoading) return <div className="loading">Loading hotel details...</div>;
+  if (loading) return <div className="loading">Loading hotel details...</div>;
   if (error) return <div className="error">Error loading hotel: {error.message}</div>;
-  if (roomsError) return <div className="error">Error loading rooms: {roomsError.message}</div>;
 
   const hotel = data.hotel;
-  const rooms = roomsData.roomsByHotel || [];
 
   if (!hotel) {
     return <div className="error">Hotel not found</div>;
   }
 
+  const rooms = hotel.rooms || [];
+
   const handleBooking = async () => {
     try {
       await createBooking({
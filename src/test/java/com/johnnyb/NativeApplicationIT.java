@@ -0,0 +1,43 @@
+package com.johnnyb;
+
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Smoke test for the packaged application, run by failsafe against the native executable with
+ * {@code -Dnative}. Reaching readiness exercises the DynamoDB client, the static table schemas and
+ * BatchGetItem; the GraphQL request exercises OIDC and the security policies. Needs LocalStack.
+ */
+@QuarkusIntegrationTest
+class NativeApplicationIT {
+
+    private static final long READY_TIMEOUT_MILLIS = 120_000;
+
+    @Test
+    void becomesReady() throws InterruptedException {
+        var deadline = System.currentTimeMillis() + READY_TIMEOUT_MILLIS;
+        var status = 0;
+        while (System.currentTimeMillis() < deadline) {
+            status = given().when().get("/q/health/ready").then().extract().statusCode();
+            if (status == 200) {
+                break;
+            }
+            Thread.sleep(500);
+        }
+        assertEquals(200, status, "not ready within " + READY_TIMEOUT_MILLIS + " ms");
+    }
+
+    @Test
+    void rejectsAnonymousGraphQL() {
+        given()
+            .contentType("application/json")
+            .body("{ \"query\": \"{ hotels { id name } }\" }")
+            .when()
+            .post("/graphql")
+            .then()
+            .statusCode(401);
+    }
+}
@@ -0,0 +1,23 @@
+package com.johnnyb.benchmark;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+/**
+ * All three pipelines enabled, the default configuration.
+ */
+@QuarkusTest
+@TestProfile(AllLoggingPipelinesBenchmark.Profile.class)
+class AllLoggingPipelinesBenchmark extends LoggingPipelineBenchmark {
+
+    public static class Profile extends PipelineProfile {
+        public Profile() {
+            super(true, true, true);
+        }
+    }
+
+    @Override
+    String pipeline() {
+        return "all";
+    }
+}
@@ -0,0 +1,23 @@
+package com.johnnyb.benchmark;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+/**
+ * Logs sent as GELF over UDP to Vector.
+ */
+@QuarkusTest
+@TestProfile(GelfVectorPipelineBenchmark.Profile.class)
+class GelfVectorPipelineBenchmark extends LoggingPipelineBenchmark {
+
+    public static class Profile extends PipelineProfile {
+        public Profile() {
+            super(false, true, false);
+        }
+    }
+
+    @Override
+    String pipeline() {
+        return "gelf-vector";
+    }
+}
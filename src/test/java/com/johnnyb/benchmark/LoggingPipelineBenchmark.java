@@ -0,0 +1,211 @@
+package com.johnnyb.benchmark;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.security.TestSecurity;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the GraphQL API with a fixed logging pipeline combination and reports throughput,
+ * p50/p99 latency and allocation rate. Subclasses pick the combination through their
+ * {@link PipelineProfile}; Vector and the OTel collector are replaced by {@link PipelineStandIns}.
+ *
+ * <p>Benchmarks are not part of the regular test run. Use {@code make benchmark-logging} (or
+ * {@code mvn test -Pbenchmark}) with LocalStack running. Tune with {@code -Dbenchmark.requests},
+ * {@code -Dbenchmark.warmup} and {@code -Dbenchmark.concurrency}.
+ */
+abstract class LoggingPipelineBenchmark {
+
+    // Each booking resolves its room and customer, so the resolvers log once per row (admin only)
+    private static final String QUERY =
+        "{\"query\":\"{ upcomingBookings { id checkInDate room { roomNumber } customer { email } } }\"}";
+    private static final Path REPORT = Path.of("target", "benchmarks", "logging-pipelines.csv");
+
+    private final int requests = Integer.getInteger("benchmark.requests", 2000);
+    private final int warmup = Integer.getInteger("benchmark.warmup", 200);
+    private final int concurrency = Integer.getInteger("benchmark.concurrency", 8);
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @TestHTTPResource("/graphql")
+    URI graphql;
+
+    @ConfigProperty(name = "benchmark.stand-ins.url")
+    String standIns;
+
+    /**
+     * Maps the {@code logging.pipeline.*.enabled} flags onto the configuration they control and
+     * points the exporters at the local stand-ins.
+     */
+    abstract static class PipelineProfile implements QuarkusTestProfile {
+        private final boolean otelDirect;
+        private final boolean gelfVector;
+        private final boolean otelVector;
+
+        PipelineProfile(boolean otelDirect, boolean gelfVector, boolean otelVector) {
+            this.otelDirect = otelDirect;
+            this.gelfVector = gelfVector;
+            this.otelVector = otelVector;
+        }
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "logging.pipeline.otel-direct.enabled", String.valueOf(otelDirect),
+                "logging.pipeline.gelf-vector.enabled", String.valueOf(gelfVector),
+                "logging.pipeline.otel-vector.enabled", String.valueOf(otelVector),
+                // otel-direct and otel-vector differ only in the collector's routing; both need the OTLP log exporter
+                "quarkus.otel.logs.enabled", String.valueOf(otelDirect || otelVector),
+                // As in scripts/benchmark-common.sh: no HTTP login, the admin identity comes from @TestSecurity
+                "quarkus.http.auth.permission.authenticated.policy", "permit",
+                "catalogue.cache.enabled", "false",
+                "graphql.cost.enabled", "false");
+        }
+
+        @Override
+        public List<TestResourceEntry> testResources() {
+            return List.of(new TestResourceEntry(PipelineStandIns.class));
+        }
+    }
+
+    abstract String pipeline();
+
+    @Test
+    @TestSecurity(user = "admin", roles = "admin")
+    void benchmark() throws Exception {
+        run(warmup);
+
+        var before = standInStats();
+        var allocatedBefore = allocatedBytes();
+        var gcBefore = gcCount();
+        var start = System.nanoTime();
+
+        var latencies = run(requests);
+
+        var elapsedNanos = System.nanoTime() - start;
+        var allocated = allocatedBytes() - allocatedBefore;
+        var gcs = gcCount() - gcBefore;
+        // Let batch exporters flush before reading what the stand-ins received
+        Thread.sleep(2000);
+        var after = standInStats();
+
+        Arrays.sort(latencies);
+        var seconds = elapsedNanos / 1e9;
+        var result = new Result(pipeline(), requests, concurrency,
+            requests / seconds,
+            latencies[(int) (latencies.length * 0.50)] / 1e6,
+            latencies[Math.min(latencies.length - 1, (int) (latencies.length * 0.99))] / 1e6,
+            allocated / seconds / (1024 * 1024),
+            allocated / (double) requests / 1024,
+            gcs,
+            after[0] - before[0], after[1] - before[1], after[2] - before[2], after[3] - before[3]);
+        report(result);
+    }
+
+    private long[] run(int count) throws Exception {
+        var latencies = new long[count];
+        var next = new AtomicInteger();
+        var failures = new AtomicInteger();
+        var request = HttpRequest.newBuilder(graphql)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(QUERY))
+            .build();
+
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < count) {
+                    var start = System.nanoTime();
+                    var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    latencies[index] = System.nanoTime() - start;
+                    if (response.statusCode() != 200 || response.body().contains("\"errors\"")) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        var executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            for (var future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(0, failures.get(), "GraphQL requests failed during the benchmark");
+        return latencies;
+    }
+
+    private long[] standInStats() throws IOException, InterruptedException {
+        var response = client.send(HttpRequest.newBuilder(URI.create(standIns + PipelineStandIns.STATS_PATH)).build(),
+            HttpResponse.BodyHandlers.ofString());
+        return Arrays.stream(response.body().trim().split(" ")).mapToLong(Long::parseLong).toArray();
+    }
+
+    /**
+     * Bytes allocated by live threads. Server worker threads are pooled, so threads exiting during
+     * the run only make this a slight underestimate.
+     */
+    private static long allocatedBytes() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return Arrays.stream(threads.getThreadAllocatedBytes(threads.getAllThreadIds()))
+            .filter(bytes -> bytes > 0)
+            .sum();
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .mapToLong(gc -> Math.max(0, gc.getCollectionCount()))
+            .sum();
+    }
+
+    record Result(String pipeline, int requests, int concurrency, double throughput, double p50Millis,
+                  double p99Millis, double allocationMbPerSecond, double allocationKbPerRequest, long gcs,
+                  long gelfPackets, long gelfBytes, long otlpRequests, long otlpBytes) {
+
+        static final String HEADER = "pipeline,requests,concurrency,throughput_rps,p50_ms,p99_ms,"
+            + "alloc_mb_per_s,alloc_kb_per_req,gcs,gelf_packets,gelf_bytes,otlp_requests,otlp_bytes";
+
+        String toCsv() {
+            return String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.2f,%.2f,%.1f,%.1f,%d,%d,%d,%d,%d",
+                pipeline, requests, concurrency, throughput, p50Millis, p99Millis, allocationMbPerSecond,
+                allocationKbPerRequest, gcs, gelfPackets, gelfBytes, otlpRequests, otlpBytes);
+        }
+    }
+
+    private static void report(Result result) throws IOException {
+        System.out.printf("%n[benchmark] %-22s %8.1f req/s  p50 %6.2f ms  p99 %6.2f ms  alloc %7.1f MB/s (%6.1f KB/req)"
+                + "  gelf %d pkts  otlp %d reqs%n",
+            result.pipeline(), result.throughput(), result.p50Millis(), result.p99Millis(),
+            result.allocationMbPerSecond(), result.allocationKbPerRequest(), result.gelfPackets(),
+            result.otlpRequests());
+
+        Files.createDirectories(REPORT.getParent());
+        if (Files.notExists(REPORT)) {
+            Files.writeString(REPORT, Result.HEADER + System.lineSeparator());
+        }
+        Files.writeString(REPORT, result.toCsv() + System.lineSeparator(), StandardOpenOption.APPEND);
+    }
+}
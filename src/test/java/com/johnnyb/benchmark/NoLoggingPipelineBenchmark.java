@@ -0,0 +1,23 @@
+package com.johnnyb.benchmark;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+/**
+ * Baseline: console logging only, no log shipping.
+ */
+@QuarkusTest
+@TestProfile(NoLoggingPipelineBenchmark.Profile.class)
+class NoLoggingPipelineBenchmark extends LoggingPipelineBenchmark {
+
+    public static class Profile extends PipelineProfile {
+        public Profile() {
+            super(false, false, false);
+        }
+    }
+
+    @Override
+    String pipeline() {
+        return "none";
+    }
+}
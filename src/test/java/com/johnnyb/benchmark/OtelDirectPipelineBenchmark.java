@@ -0,0 +1,23 @@
+package com.johnnyb.benchmark;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+/**
+ * Logs exported over OTLP to the collector, which writes them straight to Elasticsearch.
+ */
+@QuarkusTest
+@TestProfile(OtelDirectPipelineBenchmark.Profile.class)
+class OtelDirectPipelineBenchmark extends LoggingPipelineBenchmark {
+
+    public static class Profile extends PipelineProfile {
+        public Profile() {
+            super(true, false, false);
+        }
+    }
+
+    @Override
+    String pipeline() {
+        return "otel-direct";
+    }
+}
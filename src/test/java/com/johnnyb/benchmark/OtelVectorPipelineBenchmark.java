@@ -0,0 +1,23 @@
+package com.johnnyb.benchmark;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+/**
+ * Logs exported over OTLP to the collector, which forwards them to Vector.
+ */
+@QuarkusTest
+@TestProfile(OtelVectorPipelineBenchmark.Profile.class)
+class OtelVectorPipelineBenchmark extends LoggingPipelineBenchmark {
+
+    public static class Profile extends PipelineProfile {
+        public Profile() {
+            super(false, false, true);
+        }
+    }
+
+    @Override
+    String pipeline() {
+        return "otel-vector";
+    }
+}
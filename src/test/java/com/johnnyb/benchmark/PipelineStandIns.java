@@ -0,0 +1,100 @@
+package com.johnnyb.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-ins for Vector (GELF over UDP) and the OpenTelemetry collector (OTLP over HTTP).
+ * They accept and count whatever the application sends, so the benchmark measures the cost of
+ * producing and shipping telemetry without depending on the Docker stack. Counters are read over
+ * HTTP ({@code GET /stand-in/stats}) because the test runs in a different class loader.
+ */
+public class PipelineStandIns implements QuarkusTestResourceLifecycleManager {
+
+    static final String STATS_PATH = "/stand-in/stats";
+
+    private final LongAdder gelfPackets = new LongAdder();
+    private final LongAdder gelfBytes = new LongAdder();
+    private final LongAdder otlpRequests = new LongAdder();
+    private final LongAdder otlpBytes = new LongAdder();
+
+    private DatagramSocket gelfSocket;
+    private Thread gelfReceiver;
+    private HttpServer otlpServer;
+
+    @Override
+    public Map<String, String> start() {
+        try {
+            gelfSocket = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+            otlpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        gelfReceiver = new Thread(this::receiveGelf, "gelf-stand-in");
+        gelfReceiver.setDaemon(true);
+        gelfReceiver.start();
+
+        otlpServer.createContext("/", exchange -> {
+            try (exchange) {
+                otlpBytes.add(exchange.getRequestBody().readAllBytes().length);
+                otlpRequests.increment();
+                // An empty body is a valid Export*ServiceResponse
+                exchange.getResponseHeaders().set("Content-Type", "application/x-protobuf");
+                exchange.sendResponseHeaders(200, -1);
+            }
+        });
+        otlpServer.createContext(STATS_PATH, exchange -> {
+            try (exchange) {
+                var body = (gelfPackets.sum() + " " + gelfBytes.sum() + " " + otlpRequests.sum() + " "
+                    + otlpBytes.sum()).getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+        });
+        otlpServer.start();
+
+        var url = "http://127.0.0.1:" + otlpServer.getAddress().getPort();
+        return Map.of(
+            "benchmark.stand-ins.url", url,
+            "quarkus.log.handler.gelf.host", "127.0.0.1",
+            "quarkus.log.handler.gelf.port", String.valueOf(gelfSocket.getLocalPort()),
+            "quarkus.otel.exporter.otlp.endpoint", url);
+    }
+
+    private void receiveGelf() {
+        var packet = new DatagramPacket(new byte[65536], 65536);
+        while (!gelfSocket.isClosed()) {
+            try {
+                gelfSocket.receive(packet);
+                gelfPackets.increment();
+                gelfBytes.add(packet.getLength());
+            } catch (SocketException e) {
+                return;
+            } catch (IOException e) {
+                // keep receiving
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (otlpServer != null) {
+            otlpServer.stop(0);
+        }
+        if (gelfSocket != null) {
+            gelfSocket.close();
+        }
+    }
+}
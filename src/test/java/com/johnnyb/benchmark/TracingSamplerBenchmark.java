@@ -0,0 +1,150 @@
+package com.johnnyb.benchmark;
+
+import com.johnnyb.telemetry.RetainingSampler;
+import com.johnnyb.telemetry.TraceRetentionProcessor;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Per-request tracing overhead of each sampling mode. A request is simulated as a server span with
+ * three resolver spans and two DynamoDB client spans, exported through a batch processor to an
+ * exporter that discards the data; 1% of requests fail so retention has something to keep.
+ * Runs without Quarkus or LocalStack: {@code mvn test -Pbenchmark -Dtest=TracingSamplerBenchmark}.
+ */
+class TracingSamplerBenchmark {
+
+    private static final Path REPORT = Path.of("target", "benchmarks", "tracing-sampling.csv");
+
+    private final int requests = Integer.getInteger("benchmark.requests", 200_000);
+    private final int warmup = Integer.getInteger("benchmark.warmup", 50_000);
+
+    static final class CountingExporter implements SpanExporter {
+        final LongAdder spans = new LongAdder();
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> batch) {
+            spans.add(batch.size());
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+
+    record Result(String mode, double nanosPerRequest, double bytesPerRequest, long exportedSpans) {
+    }
+
+    @Test
+    void benchmark() throws IOException {
+        // Discarded pass so the first measured mode is not penalised by JIT compilation
+        run("jit-warmup", Sampler.alwaysOn(), false);
+
+        var results = List.of(
+            run("always_off", Sampler.alwaysOff(), false),
+            run("always_on", Sampler.alwaysOn(), false),
+            run("ratio_0.1", new RetainingSampler(0.1, false), false),
+            run("ratio_0.1_with_retention", new RetainingSampler(0.1, true), true));
+
+        var lines = new StringBuilder("mode,ns_per_request,bytes_per_request,exported_spans").append(System.lineSeparator());
+        for (var result : results) {
+            System.out.printf("[benchmark] %-26s %8.0f ns/request %8.0f bytes/request %9d spans exported%n",
+                result.mode(), result.nanosPerRequest(), result.bytesPerRequest(), result.exportedSpans());
+            lines.append(String.format(Locale.ROOT, "%s,%.0f,%.0f,%d", result.mode(), result.nanosPerRequest(),
+                result.bytesPerRequest(), result.exportedSpans())).append(System.lineSeparator());
+        }
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, lines);
+
+        var alwaysOn = results.get(1).exportedSpans();
+        assertTrue(results.get(2).exportedSpans() < alwaysOn);
+        assertTrue(results.get(3).exportedSpans() > results.get(2).exportedSpans());
+    }
+
+    private Result run(String mode, Sampler sampler, boolean retention) {
+        var exporter = new CountingExporter();
+        var batch = BatchSpanProcessor.builder(exporter).setMaxQueueSize(65_536).build();
+        var builder = SdkTracerProvider.builder().setSampler(sampler).addSpanProcessor(batch);
+        if (retention) {
+            builder.addSpanProcessor(new TraceRetentionProcessor(1000, 10_000, 512, () -> List.<SpanProcessor>of(batch)));
+        }
+        var provider = builder.build();
+        var tracer = provider.get("benchmark");
+
+        for (int i = 0; i < warmup; i++) {
+            request(tracer, i);
+        }
+        provider.forceFlush().join(10, TimeUnit.SECONDS);
+        var exportedBefore = exporter.spans.sum();
+
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var threadId = Thread.currentThread().getId();
+        var allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        var start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            request(tracer, i);
+        }
+        var elapsed = System.nanoTime() - start;
+        var allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        provider.forceFlush().join(10, TimeUnit.SECONDS);
+        var exported = exporter.spans.sum() - exportedBefore;
+        provider.shutdown().join(10, TimeUnit.SECONDS);
+        return new Result(mode, elapsed / (double) requests, allocated / (double) requests, exported);
+    }
+
+    private static void request(Tracer tracer, int index) {
+        var server = tracer.spanBuilder("POST /graphql").setSpanKind(SpanKind.SERVER).startSpan();
+        try (var scope = server.makeCurrent()) {
+            for (var field : List.of("Query.upcomingBookings", "Booking.room", "Booking.customer")) {
+                var resolver = tracer.spanBuilder("graphql.field " + field).startSpan();
+                try (var resolverScope = resolver.makeCurrent()) {
+                    if (!field.startsWith("Query")) {
+                        continue;
+                    }
+                    for (int call = 0; call < 2; call++) {
+                        tracer.spanBuilder("DynamoDB.Scan").setSpanKind(SpanKind.CLIENT)
+                            .setAttribute("aws.dynamodb.table_names", "bookings")
+                            .setAttribute("aws.dynamodb.item_count", 42L)
+                            .startSpan()
+                            .end();
+                    }
+                } finally {
+                    resolver.end();
+                }
+            }
+            if (index % 100 == 0) {
+                server.setStatus(StatusCode.ERROR);
+            }
+        } finally {
+            server.end();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.johnnyb.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogueCacheKeyTest {
+
+    @Test
+    void testPublicCatalogueQueryIsCacheable() {
+        assertTrue(CatalogueCacheKey.of("{ hotels { id name } }", null, Map.of()).isPresent());
+        assertTrue(CatalogueCacheKey.of("query Q($id: String) { hotel(id: $id) { id } roomsByHotel(hotelId: $id) { id } }",
+            "Q", Map.of("id", "h1")).isPresent());
+    }
+
+    @Test
+    void testNonCatalogueQueriesAreNotCacheable() {
+        assertTrue(CatalogueCacheKey.of("{ upcomingBookings { id } }", null, Map.of()).isEmpty());
+        assertTrue(CatalogueCacheKey.of("{ hotels { id } booking(id: \"1\") { id } }", null, Map.of()).isEmpty());
+        assertTrue(CatalogueCacheKey.of("mutation { cancelBooking(bookingId: \"1\") { id } }", null, Map.of()).isEmpty());
+        assertTrue(CatalogueCacheKey.of("{ hotels { id ", null, Map.of()).isEmpty());
+        assertTrue(CatalogueCacheKey.of(null, null, Map.of()).isEmpty());
+    }
+
+    @Test
+    void testFormattingDoesNotChangeKey() {
+        var compact = CatalogueCacheKey.of("{hotels{id name}}", null, Map.of());
+        var pretty = CatalogueCacheKey.of("query {\n  hotels {\n    id\n    name\n  }\n}", null, Map.of());
+        assertEquals(compact, pretty);
+    }
+
+    @Test
+    void testVariablesAreCanonicalised() {
+        var query = "query Q($city: String, $n: Int) { hotelsByCity(city: $city) { id } }";
+        var fromJson = CatalogueCacheKey.of(query, "Q", Map.of("city", "Aspen", "n", new BigDecimal("5.0")));
+        var fromInput = CatalogueCacheKey.of(query, "Q", Map.of("n", 5, "city", "Aspen"));
+        var other = CatalogueCacheKey.of(query, "Q", Map.of("n", 5, "city", "Miami Beach"));
+        assertEquals(fromJson, fromInput);
+        assertNotEquals(fromJson, other);
+    }
+
+    @Test
+    void testOperationNameSelectsOperation() {
+        var document = "query A { hotels { id } } query B { upcomingBookings { id } }";
+        assertTrue(CatalogueCacheKey.of(document, "A", Map.of()).isPresent());
+        assertTrue(CatalogueCacheKey.of(document, "B", Map.of()).isEmpty());
+        assertTrue(CatalogueCacheKey.of(document, null, Map.of()).isEmpty());
+    }
+}
@@ -0,0 +1,63 @@
+package com.johnnyb.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void expiresEntriesAfterTtl() {
+        var cache = new EntityCache<String>("hotels", 10, 1_000, now::get, UnaryOperator.identity());
+        cache.put("h-1", "Grand");
+
+        now.set(999);
+        assertEquals(Optional.of("Grand"), cache.get("h-1"));
+        now.set(1_000);
+        assertEquals(Optional.empty(), cache.get("h-1"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        var cache = new EntityCache<String>("rooms", 2, 1_000, now::get, UnaryOperator.identity());
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a");
+        cache.put("c", "C");
+
+        assertTrue(cache.get("a").isPresent());
+        assertTrue(cache.get("b").isEmpty());
+        assertTrue(cache.get("c").isPresent());
+    }
+
+    @Test
+    void invalidateRemovesEntry() {
+        var cache = new EntityCache<String>("customers", 10, 1_000, now::get, UnaryOperator.identity());
+        cache.put("c-1", "Jane");
+        cache.invalidate("c-1");
+
+        assertTrue(cache.get("c-1").isEmpty());
+    }
+
+    @Test
+    void callersCannotChangeCachedValues() {
+        var cache = new EntityCache<List<String>>("hotels", 10, 1_000, now::get, ArrayList::new);
+        var written = new ArrayList<>(List.of("r-1"));
+        cache.put("h-1", written);
+        written.add("r-2");
+        cache.get("h-1").orElseThrow().add("r-3");
+
+        assertEquals(List.of("r-1"), cache.get("h-1").orElseThrow());
+    }
+}
@@ -0,0 +1,42 @@
+package com.johnnyb.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ProcessSocketsTest {
+
+    private static final String HEADER =
+        "  sl  local_address rem_address   st tx_queue rx_queue tr tm->when retrnsmt   uid  timeout inode";
+    private static final String ROW =
+        "   3: 0100007F:C350 0100007F:10DE 01 00000000:00000000 00:00000000 00000000  1000        0 48213 1 0000000000000000 20 4 30 10 -1";
+
+    @Test
+    void testMatchesRemotePortAndOwnInode() {
+        assertTrue(ProcessSockets.isConnectionTo(ROW, 4318, Set.of("48213")));
+        assertFalse(ProcessSockets.isConnectionTo(ROW, 50000, Set.of("48213")));
+        assertFalse(ProcessSockets.isConnectionTo(ROW, 4318, Set.of("1")));
+        assertFalse(ProcessSockets.isConnectionTo(HEADER, 4318, Set.of("48213")));
+    }
+
+    @Test
+    void testCountsOpenConnections() throws Exception {
+        assumeTrue(Files.isDirectory(Path.of("/proc/self/fd")), "Linux only");
+        try (var server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            var port = server.getLocalPort();
+            var before = ProcessSockets.connectionsTo(port);
+            try (var client = new Socket(server.getInetAddress(), port); var accepted = server.accept()) {
+                assertEquals(before + 1, ProcessSockets.connectionsTo(port));
+            }
+            assertEquals(before, ProcessSockets.connectionsTo(port));
+        }
+    }
+}
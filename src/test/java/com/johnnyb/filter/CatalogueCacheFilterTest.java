@@ -0,0 +1,52 @@
+package com.johnnyb.filter;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+
+@QuarkusTest
+@TestSecurity(user = "guest", roles = "user")
+class CatalogueCacheFilterTest {
+
+    private static final String QUERY = "{ hotels { id name } }";
+
+    @Test
+    void testCatalogueQueryIsRevalidatedWithNotModified() {
+        String etag = given()
+            .queryParam("query", QUERY)
+            .when()
+            .get("/graphql")
+            .then()
+            .statusCode(200)
+            .header("ETag", notNullValue())
+            .header("Cache-Control", startsWith("private, max-age="))
+            .extract()
+            .header("ETag");
+
+        given()
+            .queryParam("query", QUERY)
+            .header("If-None-Match", etag)
+            .when()
+            .get("/graphql")
+            .then()
+            .statusCode(304)
+            .header("ETag", equalTo(etag));
+    }
+
+    @Test
+    void testNonCatalogueQueryHasNoETag() {
+        given()
+            .queryParam("query", "{ sayHello(name: \"Test\") }")
+            .when()
+            .get("/graphql")
+            .then()
+            .statusCode(200)
+            .header("ETag", nullValue());
+    }
+}
@@ -0,0 +1,33 @@
+package com.johnnyb.filter;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+
+@QuarkusTest
+@TestSecurity(user = "guest", roles = "user")
+class ServerTimingFilterTest {
+
+    @Test
+    void testServerTimingHeaderPresentInGraphQLResponse() {
+        String query = "{ \"query\": \"{ sayHello(name: \\\"Test\\\") }\" }";
+
+        given()
+            .contentType("application/json")
+            .body(query)
+            .when()
+            .post("/graphql")
+            .then()
+            .statusCode(200)
+            .header("Server-Timing", allOf(
+                containsString("parse;dur="),
+                containsString("exec;dur="),
+                containsString("dynamodb;dur="),
+                containsString("serialize;dur="),
+                containsString("total;dur=")));
+    }
+}
@@ -0,0 +1,45 @@
+package com.johnnyb.graphql;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+@QuarkusTest
+@TestSecurity(user = "admin", roles = "admin")
+class DynamoDbBudgetInstrumentationTest {
+
+    @Test
+    void testDynamoDbUsageIsReportedInExtensions() {
+        String query = "{ \"query\": \"{ upcomingBookings { id } }\" }";
+
+        given()
+            .contentType("application/json")
+            .body(query)
+            .when()
+            .post("/graphql")
+            .then()
+            .statusCode(200)
+            .body("extensions.dynamodb.operations", greaterThanOrEqualTo(1))
+            .body("extensions.dynamodb.itemsRead", notNullValue())
+            .body("extensions.dynamodb.readUnits", notNullValue());
+    }
+
+    @Test
+    void testQueriesWithoutDynamoDbReportZeroOperations() {
+        String query = "{ \"query\": \"{ sayHello(name: \\\"Test\\\") }\" }";
+
+        given()
+            .contentType("application/json")
+            .body(query)
+            .when()
+            .post("/graphql")
+            .then()
+            .statusCode(200)
+            .body("extensions.dynamodb.operations", equalTo(0));
+    }
+}
@@ -0,0 +1,125 @@
+package com.johnnyb.graphql;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.security.TestSecurity;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(FieldMetricsInstrumentationTest.InMemoryMetricsProfile.class)
+@TestSecurity(user = "guest", roles = "user")
+class FieldMetricsInstrumentationTest {
+
+    /**
+     * Replaces the OTLP metric exporter with {@link InMemoryMetricExporter} and exports often.
+     */
+    public static class InMemoryMetricsProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("quarkus.otel.metric.export.interval", "100ms");
+        }
+
+        @Override
+        public Set<Class<?>> getEnabledAlternatives() {
+            return Set.of(InMemoryMetricExporter.class);
+        }
+    }
+
+    /**
+     * Keeps the latest exported point of every metric, keyed by name.
+     */
+    @Alternative
+    @Singleton
+    public static class InMemoryMetricExporter implements MetricExporter {
+        final Map<String, MetricData> metrics = new ConcurrentHashMap<>();
+
+        @Override
+        public CompletableResultCode export(Collection<MetricData> batch) {
+            batch.forEach(metric -> metrics.put(metric.getName(), metric));
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+            return AggregationTemporality.CUMULATIVE;
+        }
+    }
+
+    @Inject
+    InMemoryMetricExporter exporter;
+
+    @Test
+    void testResolverLatencyIsRecordedPerField() throws InterruptedException {
+        given()
+            .contentType("application/json")
+            .body("{ \"query\": \"{ sayHello(name: \\\"Test\\\") }\" }")
+            .when()
+            .post("/graphql")
+            .then()
+            .statusCode(200)
+            .body("data.sayHello", notNullValue());
+
+        var histogram = awaitMetric("graphql.field.duration", "Query.sayHello");
+        assertTrue(histogram.getHistogramData().getPoints().stream()
+            .filter(point -> "Query.sayHello".equals(point.getAttributes().get(FieldMetricsInstrumentation.FIELD)))
+            .anyMatch(point -> point.getCount() >= 1));
+    }
+
+    @Test
+    void testResolverFailuresAreCounted() throws InterruptedException {
+        given()
+            .contentType("application/json")
+            .body("{ \"query\": \"{ quote(roomIds: [\\\"r-1\\\"], checkIn: \\\"2026-01-02\\\", checkOut: \\\"2026-01-01\\\") }\" }")
+            .when()
+            .post("/graphql")
+            .then()
+            .statusCode(200)
+            .body("data.quote", nullValue());
+
+        var counter = awaitMetric("graphql.field.errors", "Query.quote");
+        assertTrue(counter.getLongSumData().getPoints().stream()
+            .filter(point -> "Query.quote".equals(point.getAttributes().get(FieldMetricsInstrumentation.FIELD)))
+            .anyMatch(point -> point.getValue() >= 1));
+    }
+
+    private MetricData awaitMetric(String name, String coordinate) throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            var metric = exporter.metrics.get(name);
+            if (metric != null && metric.getData().getPoints().stream()
+                    .anyMatch(point -> coordinate.equals(point.getAttributes().get(FieldMetricsInstrumentation.FIELD)))) {
+                return metric;
+            }
+            Thread.sleep(100);
+        }
+        return fail(name + " was not exported for " + coordinate);
+    }
+}
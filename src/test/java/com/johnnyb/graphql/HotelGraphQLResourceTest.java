@@ -0,0 +1,194 @@
+package com.johnnyb.graphql;
+
+import com.johnnyb.hotkey.HotKey;
+import com.johnnyb.hotkey.HotKeyKind;
+import com.johnnyb.hotkey.IHotKeyTracker;
+import com.johnnyb.model.Customer;
+import com.johnnyb.model.Hotel;
+import com.johnnyb.model.Room;
+import com.johnnyb.service.IBookingService;
+import com.johnnyb.service.ICustomerService;
+import com.johnnyb.service.IHotelService;
+import com.johnnyb.service.IRoomService;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.security.TestSecurity;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(HotelGraphQLResourceTest.FreshHotKeysProfile.class)
+@TestSecurity(user = "guest", roles = "user")
+class HotelGraphQLResourceTest {
+
+    /**
+     * Starts with empty hot-key counts that do not decay during the test.
+     */
+    public static class FreshHotKeysProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "cache-warmup.enabled", "false",
+                "hotkeys.top-k", "1000",
+                "hotkeys.decay-interval-seconds", "3600");
+        }
+    }
+
+    @Inject
+    HotelGraphQLResource resource;
+
+    @Inject
+    IHotelService hotelService;
+
+    @Inject
+    IRoomService roomService;
+
+    @Inject
+    ICustomerService customerService;
+
+    @Inject
+    IBookingService bookingService;
+
+    @Inject
+    IHotKeyTracker hotKeys;
+
+    @Test
+    void testCreateBookingRecordsEachIdOnce() {
+        var hotelId = UUID.randomUUID().toString();
+        var roomId = UUID.randomUUID().toString();
+        var customerId = UUID.randomUUID().toString();
+        hotelService.save(Hotel.builder().id(hotelId).name("Hot Key Hotel").city("Test City").build());
+        roomService.save(Room.builder()
+            .id(roomId)
+            .hotelId(hotelId)
+            .roomNumber("101")
+            .roomType("Standard")
+            .pricePerNight(new BigDecimal("100.00"))
+            .capacity(2)
+            .build());
+        customerService.save(Customer.builder().id(customerId).firstName("Hot").lastName("Key").build());
+
+        var checkIn = LocalDate.now().plusDays(30);
+        var booking = resource.createBooking(roomId, customerId, checkIn, checkIn.plusDays(2), 2, null);
+
+        assertEquals(1, estimatedCount(HotKeyKind.HOTEL, hotelId));
+        assertEquals(1, estimatedCount(HotKeyKind.ROOM, roomId));
+        assertEquals(1, estimatedCount(HotKeyKind.CUSTOMER, customerId));
+
+        // Cleanup
+        bookingService.delete(booking.getId());
+        roomService.delete(roomId);
+        customerService.delete(customerId);
+        hotelService.delete(hotelId);
+    }
+
+    @Test
+    @TestSecurity(user = "admin", roles = "admin")
+    void testRoomBookingsAreNotServedStaleFromTheCatalogueCache() {
+        var hotelId = UUID.randomUUID().toString();
+        var roomId = UUID.randomUUID().toString();
+        var customerId = UUID.randomUUID().toString();
+        hotelService.save(Hotel.builder().id(hotelId).name("Catalogue Hotel").city("Test City").build());
+        roomService.save(Room.builder()
+            .id(roomId)
+            .hotelId(hotelId)
+            .roomNumber("101")
+            .roomType("Standard")
+            .pricePerNight(new BigDecimal("100.00"))
+            .capacity(2)
+            .build());
+        customerService.save(Customer.builder().id(customerId).firstName("Cache").lastName("Test").build());
+        var query = "{ \"query\": \"{ roomsByHotel(hotelId: \\\"" + hotelId + "\\\") { id bookings { id } } }\" }";
+
+        given().contentType("application/json").body(query).when().post("/graphql")
+            .then().statusCode(200).body("data.roomsByHotel[0].bookings", hasSize(0));
+
+        var checkIn = LocalDate.now().plusDays(40);
+        var booking = resource.createBooking(roomId, customerId, checkIn, checkIn.plusDays(2), 2, null);
+
+        given().contentType("application/json").body(query).when().post("/graphql")
+            .then().statusCode(200).body("data.roomsByHotel[0].bookings.id", contains(booking.getId()));
+
+        // Cleanup
+        bookingService.delete(booking.getId());
+        roomService.delete(roomId);
+        customerService.delete(customerId);
+        hotelService.delete(hotelId);
+    }
+
+    @Test
+    void testQuoteRejectsMoreThanTwentyRooms() {
+        var roomIds = IntStream.range(0, 21).mapToObj(i -> "r-" + i).toList();
+        var checkIn = LocalDate.now().plusDays(30);
+
+        var error = assertThrows(IllegalArgumentException.class,
+            () -> resource.getQuote(roomIds, checkIn, checkIn.plusDays(1)));
+        assertEquals("At most 20 rooms can be quoted at once", error.getMessage());
+    }
+
+    @Test
+    void testQuoteRejectsDuplicateRoomIds() {
+        var roomId = UUID.randomUUID().toString();
+        roomService.save(Room.builder()
+            .id(roomId)
+            .roomNumber("101")
+            .roomType("Standard")
+            .pricePerNight(new BigDecimal("100.00"))
+            .capacity(2)
+            .build());
+        var roomIds = List.of(roomId, roomId);
+        var checkIn = LocalDate.now().plusDays(30);
+
+        // Not cached after the save
+        var uncached = assertThrows(IllegalArgumentException.class,
+            () -> resource.getQuote(roomIds, checkIn, checkIn.plusDays(1)));
+        assertEquals("Each room can only be quoted once", uncached.getMessage());
+
+        assertTrue(roomService.findById(roomId).isPresent());
+        var cached = assertThrows(IllegalArgumentException.class,
+            () -> resource.getQuote(roomIds, checkIn, checkIn.plusDays(1)));
+        assertEquals("Each room can only be quoted once", cached.getMessage());
+        assertEquals(new BigDecimal("100.00"), resource.getQuote(List.of(roomId), checkIn, checkIn.plusDays(1)));
+
+        // Cleanup
+        roomService.delete(roomId);
+    }
+
+    @Test
+    void testAvailableRoomsRejectsWindowsOverAYear() {
+        var query = "{ \"query\": \"{ availableRooms(hotelId: \\\"h-1\\\", checkIn: \\\"2026-01-01\\\", "
+            + "checkOut: \\\"2027-02-01\\\") { id } }\" }";
+
+        given()
+            .contentType("application/json")
+            .body(query)
+            .when()
+            .post("/graphql")
+            .then()
+            .statusCode(200)
+            .body("data.availableRooms", nullValue())
+            .body("errors", hasSize(1));
+    }
+
+    private long estimatedCount(HotKeyKind kind, String id) {
+        return hotKeys.top(kind, 1000).stream()
+            .filter(key -> key.id().equals(id))
+            .mapToLong(HotKey::estimatedCount)
+            .findFirst()
+            .orElse(0);
+    }
+}
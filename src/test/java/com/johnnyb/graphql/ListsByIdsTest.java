@@ -0,0 +1,46 @@
+package com.johnnyb.graphql;
+
+import com.johnnyb.model.Booking;
+import com.johnnyb.model.Hotel;
+import com.johnnyb.model.Room;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListsByIdsTest {
+
+    @Test
+    void testAllSourcesAreLoadedWithOneCall() {
+        var rooms = List.of(
+            Room.builder().id("r1").bookingIds(List.of("b2", "b1")).build(),
+            Room.builder().id("r2").build(),
+            Room.builder().id("r3").bookingIds(List.of("b3", "gone")).build());
+        var calls = new ArrayList<Collection<String>>();
+
+        var bookings = ListsByIds.resolve(rooms, Room::getBookingIds, ids -> {
+            calls.add(List.copyOf(ids));
+            return ids.stream()
+                .filter(id -> !id.equals("gone"))
+                .map(id -> Booking.builder().id(id).build())
+                .toList();
+        }, Booking::getId);
+
+        assertEquals(List.of(List.of("b2", "b1", "b3", "gone")), calls);
+        assertEquals(List.of("b2", "b1"), bookings.get(0).stream().map(Booking::getId).toList());
+        assertTrue(bookings.get(1).isEmpty());
+        assertEquals(List.of("b3"), bookings.get(2).stream().map(Booking::getId).toList());
+    }
+
+    @Test
+    void testNoCallWithoutIds() {
+        var hotels = List.of(Hotel.builder().id("h1").build());
+
+        var rooms = ListsByIds.resolve(hotels, Hotel::getRoomIds, ids -> fail("Unexpected lookup"), Room::getId);
+
+        assertEquals(List.of(List.of()), rooms);
+    }
+}
@@ -0,0 +1,100 @@
+package com.johnnyb.graphql;
+
+import graphql.language.Document;
+import graphql.language.FragmentDefinition;
+import graphql.language.OperationDefinition;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCostCalculatorTest {
+
+    static final String SDL = """
+        type Query {
+          hotels: [Hotel]
+          hotel(id: String): Hotel
+          upcomingBookings: [Booking]
+          sayHello(name: String): String
+        }
+        type Mutation {
+          cancelBooking(bookingId: String): Booking
+        }
+        type Hotel { id: String name: String roomIds: [String] }
+        type Room { id: String hotel: Hotel }
+        type Customer { id: String email: String }
+        type Booking { id: String room: Room customer: Customer }
+        """;
+
+    private static GraphQLSchema schema;
+
+    @BeforeAll
+    static void buildSchema() {
+        schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), RuntimeWiring.MOCKED_WIRING);
+    }
+
+    private static QueryCostCalculator.QueryCost cost(String query) {
+        Document document = Parser.parse(query);
+        Map<String, FragmentDefinition> fragments = new HashMap<>();
+        document.getDefinitionsOfType(FragmentDefinition.class).forEach(f -> fragments.put(f.getName(), f));
+        var operation = document.getDefinitionsOfType(OperationDefinition.class).get(0);
+        return new QueryCostCalculator(schema, fragments, 10).calculate(operation);
+    }
+
+    @Test
+    void testScalarFieldsAreFree() {
+        var cost = cost("{ sayHello(name: \"x\") }");
+        assertEquals(0, cost.cost());
+        assertEquals(1, cost.depth());
+    }
+
+    @Test
+    void testFindByIdIsCheap() {
+        var cost = cost("{ hotel(id: \"1\") { id name } }");
+        assertEquals(QueryCostModel.GET_ITEM, cost.cost());
+        assertEquals(2, cost.depth());
+    }
+
+    @Test
+    void testScanIsExpensive() {
+        var cost = cost("{ hotels { id name } }");
+        assertEquals(QueryCostModel.SCAN, cost.cost());
+    }
+
+    @Test
+    void testNestedListsAreMultiplicative() {
+        var cost = cost("{ upcomingBookings { id room { hotel { name } } customer { email } } }");
+        // scan + 200 bookings * (room + hotel + customer lookups)
+        assertEquals(QueryCostModel.SCAN + 200L * 3 * QueryCostModel.GET_ITEM, cost.cost());
+        assertEquals(4, cost.depth());
+    }
+
+    @Test
+    void testFragmentsAreCounted() {
+        var inline = cost("{ upcomingBookings { ... on Booking { room { id } } } }");
+        var spread = cost("query { upcomingBookings { ...B } } fragment B on Booking { room { id } }");
+        assertEquals(QueryCostModel.SCAN + 200L, inline.cost());
+        assertEquals(inline.cost(), spread.cost());
+    }
+
+    @Test
+    void testMutationUsesMutationRoot() {
+        var cost = cost("mutation { cancelBooking(bookingId: \"1\") { id room { id } } }");
+        assertEquals(QueryCostModel.GET_ITEM * 3, cost.cost());
+    }
+
+    @Test
+    void testIntrospectionIsIgnored() {
+        var cost = cost("{ __schema { types { fields { type { ofType { ofType { name } } } } } } }");
+        assertEquals(0, cost.cost());
+        assertEquals(0, cost.depth());
+    }
+}
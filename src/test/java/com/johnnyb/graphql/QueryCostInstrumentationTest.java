@@ -0,0 +1,47 @@
+package com.johnnyb.graphql;
+
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCostInstrumentationTest {
+
+    private static GraphQL graphQL() {
+        var instrumentation = new QueryCostInstrumentation();
+        instrumentation.enabled = true;
+        instrumentation.enforce = true;
+        instrumentation.maxCost = 500;
+        instrumentation.maxDepth = 8;
+        instrumentation.defaultListSize = 10;
+        var schema = new SchemaGenerator().makeExecutableSchema(
+            new SchemaParser().parse(QueryCostCalculatorTest.SDL), RuntimeWiring.MOCKED_WIRING);
+        return GraphQL.newGraphQL(schema).instrumentation(instrumentation).build();
+    }
+
+    @Test
+    void testFanOutQueryIsRejectedByDefaultBudget() {
+        var result = graphQL().execute("{ upcomingBookings { id room { hotel { name } } customer { email } } }");
+
+        assertEquals(1, result.getErrors().size());
+        var extensions = result.getErrors().get(0).getExtensions();
+        assertEquals("QUERY_COST_EXCEEDED", extensions.get("code"));
+        assertEquals(610L, ((Map<?, ?>) extensions.get(QueryCostInstrumentation.EXTENSION_KEY)).get("requested"));
+        assertNull(result.getData());
+    }
+
+    @Test
+    void testCheapQueryRunsAndReportsCost() {
+        var result = graphQL().execute("{ hotel(id: \"1\") { id name } }");
+
+        assertTrue(result.getErrors().isEmpty());
+        var cost = (Map<?, ?>) result.getExtensions().get(QueryCostInstrumentation.EXTENSION_KEY);
+        assertEquals((long) QueryCostModel.GET_ITEM, cost.get("requested"));
+        assertEquals(500L, cost.get("maximum"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.johnnyb.hotkey;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHittersTest {
+
+    @Test
+    void sketchNeverUndercounts() {
+        var sketch = new CountMinSketch(64, 4);
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("key-" + (i % 100), 1);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(sketch.estimate("key-" + i) >= 10);
+        }
+    }
+
+    @Test
+    void findsHotKeysInLongTail() {
+        var hitters = new HeavyHitters(5, 1024, 4);
+        for (int i = 0; i < 20_000; i++) {
+            hitters.add("cold-" + i);
+            if (i % 4 == 0) {
+                hitters.add("hot-1");
+            }
+            if (i % 10 == 0) {
+                hitters.add("hot-2");
+            }
+        }
+
+        var top = hitters.top(2);
+        assertEquals(2, top.size());
+        assertEquals("hot-1", top.get(0).getKey());
+        assertEquals("hot-2", top.get(1).getKey());
+        assertTrue(top.get(0).getValue() >= 5000);
+    }
+
+    @Test
+    void decayLetsNewHotKeysTakeOver() {
+        var hitters = new HeavyHitters(1, 256, 4);
+        for (int i = 0; i < 100; i++) {
+            hitters.add("yesterday");
+        }
+        for (int i = 0; i < 8; i++) {
+            hitters.decay();
+        }
+        for (int i = 0; i < 10; i++) {
+            hitters.add("today");
+        }
+
+        assertEquals(Map.entry("today", 10L), hitters.top(1).get(0));
+    }
+}
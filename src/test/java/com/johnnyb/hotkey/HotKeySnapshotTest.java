@@ -0,0 +1,42 @@
+package com.johnnyb.hotkey;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotKeySnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsKeys() throws Exception {
+        var file = dir.resolve("nested/hotkeys.snapshot");
+        var keys = List.of(
+            new HotKey(HotKeyKind.HOTEL, "h-1", 120),
+            new HotKey(HotKeyKind.ROOM, "r-7", 45),
+            new HotKey(HotKeyKind.CUSTOMER, "c-3", 2));
+
+        HotKeySnapshot.write(file, keys);
+
+        assertEquals(keys, HotKeySnapshot.read(file));
+    }
+
+    @Test
+    void missingFileIsEmpty() throws Exception {
+        assertTrue(HotKeySnapshot.read(dir.resolve("absent")).isEmpty());
+    }
+
+    @Test
+    void skipsMalformedLines() throws Exception {
+        var file = dir.resolve("hotkeys.snapshot");
+        Files.writeString(file, "# header\nHOTEL\th-1\t10\nSUITE\ts-1\t5\nROOM\tr-1\nROOM\tr-2\tmany\n");
+
+        assertEquals(List.of(new HotKey(HotKeyKind.HOTEL, "h-1", 10)), HotKeySnapshot.read(file));
+    }
+}
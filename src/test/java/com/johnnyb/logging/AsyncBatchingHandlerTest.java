@@ -0,0 +1,126 @@
+package com.johnnyb.logging;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncBatchingHandlerTest {
+
+    static class RecordingHandler extends ExtHandler {
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final CountDownLatch release;
+        volatile int closed;
+
+        RecordingHandler(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        protected void doPublish(ExtLogRecord record) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(record.getMessage());
+        }
+
+        @Override
+        public void close() {
+            closed++;
+        }
+    }
+
+    private static ExtLogRecord record(String message) {
+        return new ExtLogRecord(Level.INFO, message, AsyncBatchingHandlerTest.class.getName());
+    }
+
+    @Test
+    void testAllRecordsAreDeliveredInOrderOnClose() {
+        var target = new RecordingHandler(new CountDownLatch(0));
+        var handler = new AsyncBatchingHandler("test-publisher", 64, 8, AsyncBatchingHandler.OverflowPolicy.BLOCK, 1000);
+        handler.addHandler(target);
+        handler.start();
+
+        for (int i = 0; i < 500; i++) {
+            handler.publish(record("message " + i));
+        }
+        handler.close();
+
+        assertEquals(500, target.messages.size());
+        assertEquals("message 0", target.messages.get(0));
+        assertEquals("message 499", target.messages.get(499));
+        assertEquals(500, handler.getPublishedCount());
+        assertEquals(0, handler.getDroppedCount());
+    }
+
+    @Test
+    void testDropPolicyCountsRecordsThatDoNotFit() {
+        var release = new CountDownLatch(1);
+        var target = new RecordingHandler(release);
+        var handler = new AsyncBatchingHandler("test-publisher", 4, 1, AsyncBatchingHandler.OverflowPolicy.DROP, 0);
+        handler.addHandler(target);
+        handler.start();
+
+        for (int i = 0; i < 100; i++) {
+            handler.publish(record("message " + i));
+        }
+        release.countDown();
+        handler.close();
+
+        assertEquals(4, handler.capacity());
+        assertTrue(handler.getDroppedCount() > 0);
+        assertEquals(100, handler.getPublishedCount() + handler.getDroppedCount());
+        assertEquals(handler.getPublishedCount(), target.messages.size());
+    }
+
+    @Test
+    void testBlockPolicyGivesUpAfterTimeout() {
+        var release = new CountDownLatch(1);
+        var target = new RecordingHandler(release);
+        var handler = new AsyncBatchingHandler("test-publisher", 2, 1, AsyncBatchingHandler.OverflowPolicy.BLOCK, 10);
+        handler.addHandler(target);
+        handler.start();
+
+        for (int i = 0; i < 10; i++) {
+            handler.publish(record("message " + i));
+        }
+        release.countDown();
+        handler.close();
+
+        assertTrue(handler.getDroppedCount() > 0);
+        assertEquals(10, handler.getPublishedCount() + handler.getDroppedCount());
+    }
+
+    @Test
+    void testSuspendClosesNestedHandlersAndHoldsRecordsUntilResume() throws InterruptedException {
+        var target = new RecordingHandler(new CountDownLatch(0));
+        var handler = new AsyncBatchingHandler("test-publisher", 64, 8, AsyncBatchingHandler.OverflowPolicy.BLOCK, 1000);
+        handler.addHandler(target);
+        handler.start();
+
+        handler.suspend();
+        assertEquals(1, target.closed);
+        for (int i = 0; i < 10; i++) {
+            handler.publish(record("message " + i));
+        }
+        Thread.sleep(300);
+        assertTrue(target.messages.isEmpty());
+        assertEquals(10, handler.size());
+
+        handler.resume();
+        handler.close();
+
+        assertEquals(10, target.messages.size());
+        assertEquals("message 0", target.messages.get(0));
+        assertEquals(0, handler.getDroppedCount());
+    }
+}
@@ -0,0 +1,89 @@
+package com.johnnyb.logging;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSamplingFilterTest {
+
+    private final AtomicLong clock = new AtomicLong(10_000);
+    private final LogSamplingFilter filter = new LogSamplingFilter(3, clock::get);
+
+    private static LogRecord record(Level level, String category) {
+        var record = new LogRecord(level, "message");
+        record.setLoggerName(category);
+        return record;
+    }
+
+    private static Span span(TraceFlags flags) {
+        return Span.wrap(SpanContext.create("0af7651916cd43dd8448eb211c80319c", "b7ad6b7169203331", flags,
+            TraceState.getDefault()));
+    }
+
+    @Test
+    void testRecordsAboveBudgetAreSuppressedPerCategory() {
+        for (int i = 0; i < 5; i++) {
+            filter.isLoggable(record(Level.FINE, "com.johnnyb.a"));
+        }
+        assertTrue(filter.isLoggable(record(Level.INFO, "com.johnnyb.b")));
+        assertFalse(filter.isLoggable(record(Level.INFO, "com.johnnyb.a")));
+
+        assertEquals(Map.of("com.johnnyb.a", 3L), filter.drainSuppressed());
+        assertTrue(filter.drainSuppressed().isEmpty());
+    }
+
+    @Test
+    void testBudgetResetsEverySecond() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(filter.isLoggable(record(Level.INFO, "com.johnnyb.a")));
+        }
+        assertFalse(filter.isLoggable(record(Level.INFO, "com.johnnyb.a")));
+
+        clock.addAndGet(1000);
+        assertTrue(filter.isLoggable(record(Level.INFO, "com.johnnyb.a")));
+    }
+
+    @Test
+    void testWarningsAreAlwaysKept() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(filter.isLoggable(record(Level.WARNING, "com.johnnyb.a")));
+            assertTrue(filter.isLoggable(record(Level.SEVERE, "com.johnnyb.a")));
+        }
+        assertTrue(filter.drainSuppressed().isEmpty());
+    }
+
+    @Test
+    void testSampledTracesAreKeptInFull() {
+        try (var scope = span(TraceFlags.getSampled()).makeCurrent()) {
+            for (int i = 0; i < 10; i++) {
+                assertTrue(filter.isLoggable(record(Level.FINE, "com.johnnyb.a")));
+            }
+        }
+        try (var scope = span(TraceFlags.getDefault()).makeCurrent()) {
+            for (int i = 0; i < 10; i++) {
+                filter.isLoggable(record(Level.FINE, "com.johnnyb.a"));
+            }
+        }
+        assertEquals(Map.of("com.johnnyb.a", 7L), filter.drainSuppressed());
+    }
+
+    @Test
+    void testEveryHandlerGetsTheSameDecisionForARecord() {
+        for (int i = 0; i < 5; i++) {
+            var record = record(Level.INFO, "com.johnnyb.a");
+            var first = filter.isLoggable(record);
+            assertEquals(first, filter.isLoggable(record));
+            assertEquals(first, filter.isLoggable(record));
+        }
+        assertEquals(Map.of("com.johnnyb.a", 2L), filter.drainSuppressed());
+    }
+}
@@ -0,0 +1,50 @@
+package com.johnnyb.migration;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingDateBackfillTest {
+
+    private static AttributeValue s(String value) {
+        return AttributeValue.builder().s(value).build();
+    }
+
+    private static AttributeValue n(long value) {
+        return AttributeValue.builder().n(Long.toString(value)).build();
+    }
+
+    @Test
+    void rewritesBothStringDatesConditionally() {
+        var update = BookingDateBackfill.updateFor(Map.of(
+            "id", s("b1"), "checkInDate", s("2025-03-14"), "checkOutDate", s("2025-03-17")));
+
+        assertNotNull(update);
+        assertEquals(Map.of("id", s("b1")), update.key());
+        assertEquals("SET #d0 = :new0, #d1 = :new1", update.updateExpression());
+        assertEquals("#d0 = :old0 AND #d1 = :old1", update.conditionExpression());
+        assertEquals(n(LocalDate.of(2025, 3, 14).toEpochDay()), update.expressionAttributeValues().get(":new0"));
+        assertEquals(n(LocalDate.of(2025, 3, 17).toEpochDay()), update.expressionAttributeValues().get(":new1"));
+        assertEquals(s("2025-03-14"), update.expressionAttributeValues().get(":old0"));
+    }
+
+    @Test
+    void onlyRewritesTheStringDate() {
+        var update = BookingDateBackfill.updateFor(Map.of(
+            "id", s("b1"), "checkInDate", n(20_000), "checkOutDate", s("2025-03-17")));
+
+        assertNotNull(update);
+        assertEquals("SET #d1 = :new1", update.updateExpression());
+        assertEquals(Map.of("#d1", "checkOutDate"), update.expressionAttributeNames());
+    }
+
+    @Test
+    void skipsMigratedItems() {
+        assertNull(BookingDateBackfill.updateFor(Map.of(
+            "id", s("b1"), "checkInDate", n(20_000), "checkOutDate", n(20_003))));
+    }
+}
@@ -0,0 +1,37 @@
+package com.johnnyb.migration;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotelRoomIdsBackfillTest {
+
+    private static AttributeValue s(String value) {
+        return AttributeValue.builder().s(value).build();
+    }
+
+    @Test
+    void groupsScannedRoomsByHotel() {
+        var byHotel = HotelRoomIdsBackfill.roomIdsByHotel(List.of(
+            Map.of("id", s("r1"), "hotelId", s("h1")),
+            Map.of("id", s("r2"), "hotelId", s("h2")),
+            Map.of("id", s("r3"), "hotelId", s("h1"))));
+
+        assertEquals(Map.of("h1", List.of("r1", "r3"), "h2", List.of("r2")), byHotel);
+    }
+
+    @Test
+    void addsRoomIdsToExistingHotelsOnly() {
+        var update = HotelRoomIdsBackfill.updateFor("h1", List.of("r1", "r3"));
+
+        assertEquals("hotels", update.tableName());
+        assertEquals(Map.of("id", s("h1")), update.key());
+        assertEquals("ADD roomIds :rooms", update.updateExpression());
+        assertEquals("attribute_exists(id)", update.conditionExpression());
+        assertEquals(List.of("r1", "r3"), update.expressionAttributeValues().get(":rooms").ss());
+    }
+}
@@ -0,0 +1,95 @@
+package com.johnnyb.model;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingItemMapperTest {
+
+    private static final TableSchema<Booking> ATTRIBUTES =
+        Booking.tableSchema(Booking.DateEncoding.EPOCH_DAY, ItemFormat.ATTRIBUTES);
+    private static final TableSchema<Booking> COMPACT =
+        Booking.tableSchema(Booking.DateEncoding.EPOCH_DAY, ItemFormat.COMPACT);
+
+    private static Booking booking() {
+        return Booking.builder()
+            .id("0f8fad5b-d9cb-469f-a165-70867728950e")
+            .roomId("7c9e6679-7425-40de-944b-e07fc1f90ae7")
+            .customerId("e4eaaaf2-d142-11e1-b3e4-080027620cdd")
+            .checkInDate(LocalDate.of(2025, 3, 14))
+            .checkOutDate(LocalDate.of(2025, 3, 17))
+            .numberOfGuests(2)
+            .totalPrice(new BigDecimal("360.00"))
+            .status(Booking.BookingStatus.CONFIRMED)
+            .specialRequests("Late check-in please")
+            .build();
+    }
+
+    private static int size(Map<String, AttributeValue> item) {
+        var size = 0;
+        for (var entry : item.entrySet()) {
+            var value = entry.getValue();
+            size += entry.getKey().length();
+            size += value.s() != null ? value.s().length() : value.n() != null ? value.n().length() : value.b().asByteArray().length;
+        }
+        return size;
+    }
+
+    @Test
+    void testCompactRoundTrip() {
+        var item = COMPACT.itemToMap(booking(), true);
+
+        assertEquals(List.of("customerId", "d", "id", "roomId"), item.keySet().stream().sorted().toList());
+        assertEquals(booking(), COMPACT.mapToItem(item));
+    }
+
+    @Test
+    void testBothSchemasReadBothFormats() {
+        var compactItem = COMPACT.itemToMap(booking(), true);
+        var attributeItem = ATTRIBUTES.itemToMap(booking(), true);
+
+        assertEquals(booking(), ATTRIBUTES.mapToItem(compactItem));
+        assertEquals(booking(), COMPACT.mapToItem(attributeItem));
+    }
+
+    @Test
+    void testCompactItemIsSmaller() {
+        var compact = size(COMPACT.itemToMap(booking(), true));
+        var attributes = size(ATTRIBUTES.itemToMap(booking(), true));
+
+        assertTrue(compact < attributes * 0.8, "compact " + compact + " vs attributes " + attributes);
+    }
+
+    @Test
+    void testAbsentFieldsStayAbsent() {
+        var sparse = Booking.builder().id("b1").status(Booking.BookingStatus.PENDING).build();
+
+        var item = COMPACT.itemToMap(sparse, true);
+
+        assertEquals(List.of("d", "id"), item.keySet().stream().sorted().toList());
+        assertEquals(sparse, COMPACT.mapToItem(item));
+    }
+
+    @Test
+    void testKeyAttributesStayNative() {
+        assertEquals(Map.of("id", AttributeValue.builder().s("b1").build()),
+            COMPACT.itemToMap(Booking.builder().id("b1").build(), List.of("id")));
+    }
+
+    @Test
+    void testUnknownVersionIsRejected() {
+        var item = Map.of(
+            "id", AttributeValue.builder().s("b1").build(),
+            "d", AttributeValue.builder().b(SdkBytes.fromByteArray(new byte[]{9, 0})).build());
+
+        assertThrows(IllegalStateException.class, () -> COMPACT.mapToItem(item));
+    }
+}
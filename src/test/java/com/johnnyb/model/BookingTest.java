@@ -1,6 +1,7 @@
 package com.johnnyb.model;
 
 import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -93,4 +94,30 @@ class BookingTest {
         assertEquals(booking1, booking2);
         assertEquals(booking1.hashCode(), booking2.hashCode());
     }
+
+    @Test
+    void testDatesAreWrittenAsEpochDays() {
+        var date = LocalDate.of(2025, 3, 14);
+
+        var value = AttributeValues.fromDate(date, Booking.DateEncoding.EPOCH_DAY);
+
+        assertEquals(Long.toString(date.toEpochDay()), value.n());
+        assertNull(value.s());
+        assertEquals(date, AttributeValues.toDate(value));
+    }
+
+    @Test
+    void testLegacyIsoDatesAreStillRead() {
+        assertEquals(LocalDate.of(2025, 3, 14), AttributeValues.toDate(AttributeValue.builder().s("2025-03-14").build()));
+        assertNull(AttributeValues.toDate(AttributeValue.builder().nul(true).build()));
+        assertNull(AttributeValues.toDate(null));
+    }
+
+    @Test
+    void testIsoStringEncodingForRollingUpgrades() {
+        var date = LocalDate.of(2025, 3, 14);
+
+        assertEquals("2025-03-14", AttributeValues.fromDate(date, Booking.DateEncoding.ISO_STRING).s());
+        assertEquals(date, AttributeValues.toDate(AttributeValue.builder().n(Long.toString(date.toEpochDay())).build()));
+    }
 }
@@ -0,0 +1,38 @@
+package com.johnnyb.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactIdTest {
+
+    @Test
+    void testUuidRoundTrip() {
+        for (var i = 0; i < 1000; i++) {
+            var uuid = UUID.randomUUID().toString();
+
+            var id = CompactId.of(uuid);
+
+            assertTrue(id.isUuid());
+            assertEquals(uuid, id.toString());
+            assertEquals(CompactId.of(uuid), id);
+            assertEquals(CompactId.of(uuid).hashCode(), id.hashCode());
+        }
+        assertEquals("00000000-0000-0000-0000-000000000000", CompactId.of("00000000-0000-0000-0000-000000000000").toString());
+        assertEquals("ffffffff-ffff-ffff-ffff-ffffffffffff", CompactId.of("ffffffff-ffff-ffff-ffff-ffffffffffff").toString());
+    }
+
+    @Test
+    void testOtherIdsAreKeptAsStrings() {
+        for (var other : new String[]{"h1", "", "0F8FAD5B-D9CB-469F-A165-70867728950E", "0f8fad5b-d9cb-469f-a165-70867728950e-x",
+                "0f8fad5bd9cb-469f-a165-70867728950e0"}) {
+            var id = CompactId.of(other);
+
+            assertFalse(id.isUuid());
+            assertEquals(other, id.toString());
+        }
+        assertNotEquals(CompactId.of("0F8FAD5B-D9CB-469F-A165-70867728950E"), CompactId.of("0f8fad5b-d9cb-469f-a165-70867728950e"));
+    }
+}
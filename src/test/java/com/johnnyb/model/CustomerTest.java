@@ -19,9 +19,6 @@ class CustomerTest {
             .email("john.doe@example.com")
             .phone("+1-555-0101")
             .address("123 Main St")
-            .creditCardNumber("4532015112830366")
-            .creditCardExpiry("12/25")
-            .creditCardCvv("123")
             .bookingIds(new ArrayList<>())
             .build();
 
@@ -32,9 +29,6 @@ class CustomerTest {
         assertEquals("john.doe@example.com", customer.getEmail());
         assertEquals("+1-555-0101", customer.getPhone());
         assertEquals("123 Main St", customer.getAddress());
-        assertEquals("4532015112830366", customer.getCreditCardNumber());
-        assertEquals("12/25", customer.getCreditCardExpiry());
-        assertEquals("123", customer.getCreditCardCvv());
         assertNotNull(customer.getBookingIds());
         assertTrue(customer.getBookingIds().isEmpty());
     }
@@ -50,9 +44,6 @@ class CustomerTest {
         customer.setEmail("jane.smith@example.com");
         customer.setPhone("+1-555-0102");
         customer.setAddress("456 Oak Ave");
-        customer.setCreditCardNumber("5425233430109903");
-        customer.setCreditCardExpiry("11/26");
-        customer.setCreditCardCvv("456");
         customer.setBookingIds(new ArrayList<>());
 
         assertEquals(id, customer.getId());
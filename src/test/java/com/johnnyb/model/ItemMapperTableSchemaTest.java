@@ -0,0 +1,94 @@
+package com.johnnyb.model;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemMapperTableSchemaTest {
+
+    @Test
+    void testHotelRoundTrip() {
+        var hotel = Hotel.builder()
+            .id("h1")
+            .name("Grand Plaza")
+            .city("New York")
+            .country("USA")
+            .starRating(5)
+            .roomIds(List.of("r1", "r2"))
+            .build();
+
+        var item = Hotel.HOTEL_TABLE_SCHEMA.itemToMap(hotel, true);
+
+        assertEquals("5", item.get("starRating").n());
+        assertEquals(List.of("r1", "r2"), item.get("roomIds").ss());
+        assertFalse(item.containsKey("address"));
+        assertEquals(hotel, Hotel.HOTEL_TABLE_SCHEMA.mapToItem(item));
+    }
+
+    @Test
+    void testRoomPriceIsStoredAsDecimal() {
+        var room = Room.builder()
+            .id("r1")
+            .hotelId("h1")
+            .pricePerNight(new BigDecimal("199.99"))
+            .capacity(2)
+            .build();
+
+        var item = Room.ROOM_TABLE_SCHEMA.itemToMap(room, true);
+
+        assertEquals("199.99", item.get("pricePerNight").n());
+        assertEquals(room, Room.ROOM_TABLE_SCHEMA.mapToItem(item));
+        assertEquals(Money.NONE, Room.ROOM_TABLE_SCHEMA.mapToItem(Map.of("id", AttributeValue.builder().s("r2").build()))
+            .getPricePerNightMinor());
+    }
+
+    @Test
+    void testEmptySetsAreSkippedAndReadSetsAreMutable() {
+        var customer = Customer.builder().id("c1").email("a@example.com").bookingIds(new ArrayList<>()).build();
+
+        var item = Customer.CUSTOMER_TABLE_SCHEMA.itemToMap(customer, true);
+        assertFalse(item.containsKey("bookingIds"));
+
+        item.put("bookingIds", AttributeValue.builder().ss("b1").build());
+        var read = Customer.CUSTOMER_TABLE_SCHEMA.mapToItem(item);
+        read.getBookingIds().add("b2");
+        assertEquals(List.of("b1", "b2"), read.getBookingIds());
+    }
+
+    @Test
+    void testCustomerItemsCarryNoPaymentDetails() {
+        var details = PaymentDetails.builder()
+            .customerId("c1")
+            .creditCardNumber("4111111111111111")
+            .creditCardExpiry("12/28")
+            .creditCardCvv("123")
+            .build();
+
+        var item = PaymentDetails.PAYMENT_DETAILS_TABLE_SCHEMA.itemToMap(details, true);
+        assertEquals("c1", item.get("customerId").s());
+        assertEquals(details, PaymentDetails.PAYMENT_DETAILS_TABLE_SCHEMA.mapToItem(item));
+        assertEquals("customerId", PaymentDetails.PAYMENT_DETAILS_TABLE_SCHEMA.tableMetadata().primaryPartitionKey());
+
+        // Items written before the payments table existed still have the card attributes
+        item.put("id", AttributeValue.builder().s("c1").build());
+        var customer = Customer.CUSTOMER_TABLE_SCHEMA.mapToItem(item);
+        assertEquals("c1", customer.getId());
+        assertFalse(Customer.CUSTOMER_TABLE_SCHEMA.itemToMap(customer, false).containsKey("creditCardNumber"));
+    }
+
+    @Test
+    void testPartitionKeyMetadata() {
+        assertEquals("id", Hotel.HOTEL_TABLE_SCHEMA.tableMetadata().primaryPartitionKey());
+        assertEquals(List.of("id"), Room.ROOM_TABLE_SCHEMA.tableMetadata().primaryKeys().stream().toList());
+        assertEquals(Map.of("id", AttributeValue.builder().s("c1").build()),
+            Customer.CUSTOMER_TABLE_SCHEMA.itemToMap(Customer.builder().id("c1").email("x").build(), List.of("id")));
+        assertEquals(TableMetadata.primaryIndexName(), Customer.CUSTOMER_TABLE_SCHEMA.tableMetadata().indices().iterator().next().name());
+    }
+}
@@ -0,0 +1,44 @@
+package com.johnnyb.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void testParsesStoredDecimals() {
+        assertEquals(19_999, Money.parse("199.99"));
+        assertEquals(12_000, Money.parse("120"));
+        assertEquals(12_050, Money.parse("120.5"));
+        assertEquals(-50, Money.parse("-0.5"));
+        assertEquals(101, Money.parse("1.005"));
+        assertEquals(100, Money.parse("1.0049"));
+        assertEquals(10_000, Money.parse("1E+2"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("12a"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("-"));
+    }
+
+    @Test
+    void testFormatsLikeBigDecimalPlainString() {
+        for (var minor : new long[]{0, 5, 99, 100, 12_000, 19_999, -5, -150}) {
+            assertEquals(BigDecimal.valueOf(minor, 2).toPlainString(), Money.toPlainString(minor));
+        }
+    }
+
+    @Test
+    void testBigDecimalBoundary() {
+        assertEquals(new BigDecimal("360.00"), Money.toBigDecimal(36_000));
+        assertEquals(36_000, Money.fromBigDecimal(new BigDecimal("360")));
+        assertNull(Money.toBigDecimal(Money.NONE));
+        assertEquals(Money.NONE, Money.fromBigDecimal(null));
+    }
+
+    @Test
+    void testArithmeticOverflowFails() {
+        assertEquals(36_000, Money.times(Money.ofMajor(120), 3));
+        assertThrows(ArithmeticException.class, () -> Money.times(Long.MAX_VALUE / 2, 3));
+    }
+}
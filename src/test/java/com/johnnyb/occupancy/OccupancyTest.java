@@ -0,0 +1,88 @@
+package com.johnnyb.occupancy;
+
+import com.johnnyb.model.Booking;
+import com.johnnyb.model.Room;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 3, 10);
+    private static final LocalDate TO = LocalDate.of(2025, 3, 17);
+
+    private final Room room1 = Room.builder().id(UUID.randomUUID().toString()).build();
+    private final Room room2 = Room.builder().id(UUID.randomUUID().toString()).build();
+
+    private static Booking booking(Room room, LocalDate checkIn, LocalDate checkOut, int guests, Booking.BookingStatus status) {
+        return Booking.builder()
+            .id(UUID.randomUUID().toString())
+            .roomId(room.getId())
+            .checkInDate(checkIn)
+            .checkOutDate(checkOut)
+            .numberOfGuests(guests)
+            .status(status)
+            .build();
+    }
+
+    @Test
+    void testNightlyTotals() {
+        var occupancy = Occupancy.of(List.of(room1, room2), List.of(
+            booking(room1, FROM.minusDays(2), FROM.plusDays(2), 2, Booking.BookingStatus.CONFIRMED),
+            booking(room2, FROM.plusDays(1), FROM.plusDays(3), 3, Booking.BookingStatus.PENDING),
+            booking(room2, FROM, TO, 4, Booking.BookingStatus.CANCELLED),
+            booking(Room.builder().id("other").build(), FROM, TO, 1, Booking.BookingStatus.CONFIRMED)),
+            FROM, TO);
+
+        assertEquals(7, occupancy.nights());
+        assertArrayEquals(new int[]{1, 2, 1, 0, 0, 0, 0}, nightly(occupancy, true));
+        assertArrayEquals(new int[]{2, 5, 3, 0, 0, 0, 0}, nightly(occupancy, false));
+        assertEquals(4.0 / 14, occupancy.occupancyRate(), 1e-9);
+        assertEquals(FROM.plusDays(1), occupancy.daily().get(1).date());
+        assertEquals(2, occupancy.daily().get(1).occupiedRooms());
+    }
+
+    @Test
+    void testAvailability() {
+        var occupancy = Occupancy.of(List.of(room1, room2),
+            List.of(booking(room1, FROM.plusDays(2), FROM.plusDays(4), 1, Booking.BookingStatus.CONFIRMED)), FROM, TO);
+        var index = occupancy.roomIndex(room1.getId());
+
+        assertFalse(occupancy.isAvailable(index, FROM, FROM.plusDays(3)));
+        assertFalse(occupancy.isAvailable(index, FROM.plusDays(3), FROM.plusDays(5)));
+        assertTrue(occupancy.isAvailable(index, FROM, FROM.plusDays(2)));
+        assertTrue(occupancy.isAvailable(index, FROM.plusDays(4), TO));
+        assertTrue(occupancy.isAvailable(occupancy.roomIndex(room2.getId()), FROM, TO));
+        assertEquals(-1, occupancy.roomIndex("unknown"));
+        assertEquals(List.of(room2), occupancy.availableRooms());
+    }
+
+    @Test
+    void testInvalidWindowIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Occupancy(List.of(room1), TO, FROM));
+    }
+
+    private static int[] nightly(Occupancy occupancy, boolean rooms) {
+        var values = new int[occupancy.nights()];
+        for (var night = 0; night < values.length; night++) {
+            values[night] = rooms ? occupancy.occupiedRooms(night) : occupancy.guests(night);
+        }
+        return values;
+    }
+
+    @Test
+    void testRejectsWindowsLongerThanMaxNights() {
+        assertEquals(Occupancy.MAX_NIGHTS,
+            new Occupancy(List.of(room1), FROM, FROM.plusDays(Occupancy.MAX_NIGHTS)).daily().size());
+        assertThrows(IllegalArgumentException.class,
+            () -> new Occupancy(List.of(room1), FROM, FROM.plusDays(Occupancy.MAX_NIGHTS + 1)));
+        assertThrows(IllegalArgumentException.class,
+            () -> new Occupancy(List.of(room1), LocalDate.MIN, LocalDate.MAX));
+        assertThrows(IllegalArgumentException.class, () -> Occupancy.checkWindow(FROM, FROM.plusDays(31), 30));
+        assertEquals(30, Occupancy.checkWindow(FROM, FROM.plusDays(30), 30));
+    }
+}
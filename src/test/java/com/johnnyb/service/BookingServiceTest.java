@@ -1,6 +1,8 @@
 package com.johnnyb.service;
 
 import com.johnnyb.model.Booking;
+import com.johnnyb.model.Customer;
+import com.johnnyb.model.Room;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
@@ -19,6 +21,12 @@ class BookingServiceTest {
     @Inject
     IBookingService bookingService;
 
+    @Inject
+    IRoomService roomService;
+
+    @Inject
+    ICustomerService customerService;
+
     @Test
     void testSaveAndFindById() {
         var id = UUID.randomUUID().toString();
@@ -197,4 +205,35 @@ class BookingServiceTest {
         bookingService.delete(id);
         assertFalse(bookingService.findById(id).isPresent());
     }
+
+    @Test
+    void testCreateAndCancelMaintainBookingIds() {
+        var room = roomService.save(Room.builder().id(UUID.randomUUID().toString()).roomNumber("T1").build());
+        var customer = customerService.save(Customer.builder().id(UUID.randomUUID().toString()).email("t@example.com").build());
+        var checkIn = LocalDate.now().plusDays(50);
+        var booking = Booking.builder()
+            .id(UUID.randomUUID().toString())
+            .roomId(room.getId())
+            .customerId(customer.getId())
+            .checkInDate(checkIn)
+            .checkOutDate(checkIn.plusDays(2))
+            .numberOfGuests(1)
+            .status(Booking.BookingStatus.CONFIRMED)
+            .build();
+
+        bookingService.create(booking);
+        assertEquals(List.of(booking.getId()), roomService.findById(room.getId()).get().getBookingIds());
+        assertEquals(List.of(booking.getId()), customerService.findById(customer.getId()).get().getBookingIds());
+        assertEquals(1, bookingService.findByIds(List.of(booking.getId())).size());
+
+        bookingService.cancel(booking);
+        assertEquals(Booking.BookingStatus.CANCELLED, bookingService.findById(booking.getId()).get().getStatus());
+        assertNull(roomService.findById(room.getId()).get().getBookingIds());
+        assertNull(customerService.findById(customer.getId()).get().getBookingIds());
+
+        // Cleanup
+        bookingService.delete(booking.getId());
+        roomService.delete(room.getId());
+        customerService.delete(customer.getId());
+    }
 }
@@ -0,0 +1,47 @@
+package com.johnnyb.service;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingTransactionTest {
+
+    private static final Map<String, AttributeValue> ITEM = Map.of(
+        "id", AttributeValue.builder().s("b1").build(),
+        "roomId", AttributeValue.builder().s("r1").build(),
+        "customerId", AttributeValue.builder().s("c1").build(),
+        "status", AttributeValue.builder().s("CONFIRMED").build());
+
+    @Test
+    void testCreateAddsBookingIdToRoomAndCustomer() {
+        var items = BookingService.bookingWrite(ITEM, true).transactItems();
+
+        assertEquals(3, items.size());
+        assertEquals(ITEM, items.get(0).put().item());
+        assertEquals("attribute_not_exists(id)", items.get(0).put().conditionExpression());
+
+        var room = items.get(1).update();
+        assertEquals(BookingService.ROOMS_TABLE_NAME, room.tableName());
+        assertEquals("r1", room.key().get("id").s());
+        assertEquals("ADD bookingIds :booking", room.updateExpression());
+        assertEquals("attribute_exists(id)", room.conditionExpression());
+
+        var customer = items.get(2).update();
+        assertEquals(BookingService.CUSTOMERS_TABLE_NAME, customer.tableName());
+        assertEquals("c1", customer.key().get("id").s());
+        assertEquals(List.of("b1"), customer.expressionAttributeValues().get(":booking").ss());
+    }
+
+    @Test
+    void testCancelDeletesBookingIdFromRoomAndCustomer() {
+        var items = BookingService.bookingWrite(ITEM, false).transactItems();
+
+        assertEquals("attribute_exists(id)", items.get(0).put().conditionExpression());
+        assertEquals("DELETE bookingIds :booking", items.get(1).update().updateExpression());
+        assertEquals("DELETE bookingIds :booking", items.get(2).update().updateExpression());
+    }
+}
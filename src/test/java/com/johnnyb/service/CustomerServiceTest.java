@@ -1,6 +1,7 @@
 package com.johnnyb.service;
 
 import com.johnnyb.model.Customer;
+import com.johnnyb.model.PaymentDetails;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
@@ -28,9 +29,6 @@ class CustomerServiceTest {
             .email("test.user@example.com")
             .phone("+1-555-0199")
             .address("999 Test St")
-            .creditCardNumber("4111111111111111")
-            .creditCardExpiry("12/28")
-            .creditCardCvv("999")
             .bookingIds(new ArrayList<>())
             .build();
 
@@ -57,9 +55,6 @@ class CustomerServiceTest {
             .email(email)
             .phone("+1-555-0198")
             .address("888 Test St")
-            .creditCardNumber("4111111111111111")
-            .creditCardExpiry("12/28")
-            .creditCardCvv("888")
             .bookingIds(new ArrayList<>())
             .build();
 
@@ -91,9 +86,6 @@ class CustomerServiceTest {
             .email("delete.test@example.com")
             .phone("+1-555-0197")
             .address("777 Test St")
-            .creditCardNumber("4111111111111111")
-            .creditCardExpiry("12/28")
-            .creditCardCvv("777")
             .bookingIds(new ArrayList<>())
             .build();
 
@@ -103,4 +95,29 @@ class CustomerServiceTest {
         customerService.delete(id);
         assertFalse(customerService.findById(id).isPresent());
     }
+
+    @Test
+    void testPaymentDetailsAreStoredApartFromCustomer() {
+        var id = UUID.randomUUID().toString();
+        customerService.save(Customer.builder()
+            .id(id)
+            .firstName("Payment")
+            .lastName("Test")
+            .email("payment.test@example.com")
+            .build());
+        customerService.savePaymentDetails(PaymentDetails.builder()
+            .customerId(id)
+            .creditCardNumber("4111111111111111")
+            .creditCardExpiry("12/28")
+            .creditCardCvv("666")
+            .build());
+
+        var details = customerService.findPaymentDetails(id);
+        assertTrue(details.isPresent());
+        assertEquals("4111111111111111", details.get().getCreditCardNumber());
+        assertEquals("666", details.get().getCreditCardCvv());
+
+        customerService.delete(id);
+        assertFalse(customerService.findPaymentDetails(id).isPresent());
+    }
 }
@@ -1,10 +1,12 @@
 package com.johnnyb.service;
 
 import com.johnnyb.model.Hotel;
+import com.johnnyb.model.Room;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -18,6 +20,9 @@ class HotelServiceTest {
     @Inject
     IHotelService hotelService;
 
+    @Inject
+    IRoomService roomService;
+
     @Test
     void testSaveAndFindById() {
         var id = UUID.randomUUID().toString();
@@ -46,6 +51,32 @@ class HotelServiceTest {
         hotelService.delete(id);
     }
 
+    @Test
+    void testSaveKeepsRoomIds() {
+        var id = UUID.randomUUID().toString();
+        var roomId = UUID.randomUUID().toString();
+        hotelService.save(Hotel.builder().id(id).name("Room Ids Hotel").city("Test City").build());
+        roomService.save(Room.builder()
+            .id(roomId)
+            .hotelId(id)
+            .roomNumber("101")
+            .roomType("Standard")
+            .pricePerNight(new BigDecimal("100.00"))
+            .capacity(2)
+            .build());
+
+        hotelService.save(Hotel.builder().id(id).name("Renamed Hotel").city("Test City").build());
+
+        var found = hotelService.findById(id);
+        assertTrue(found.isPresent());
+        assertEquals("Renamed Hotel", found.get().getName());
+        assertEquals(List.of(roomId), found.get().getRoomIds());
+
+        // Cleanup
+        roomService.delete(roomId);
+        hotelService.delete(id);
+    }
+
     @Test
     void testFindByCity() {
         var id = UUID.randomUUID().toString();
@@ -0,0 +1,42 @@
+package com.johnnyb.service;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemUpdatesTest {
+
+    private static final List<String> ATTRIBUTES = List.of("id", "firstName", "email", "bookingIds");
+
+    private static AttributeValue s(String value) {
+        return AttributeValue.builder().s(value).build();
+    }
+
+    @Test
+    void testSetsPresentAndRemovesMissingAttributes() {
+        var update = ItemUpdates.ownAttributes("customers", "id", Map.of("id", s("c1"), "firstName", s("Ada")),
+            ATTRIBUTES, Set.of("bookingIds"));
+
+        assertEquals("customers", update.tableName());
+        assertEquals(Map.of("id", s("c1")), update.key());
+        assertEquals("SET #a1 = :v1 REMOVE #a2", update.updateExpression());
+        assertEquals(Map.of("#a1", "firstName", "#a2", "email"), update.expressionAttributeNames());
+        assertEquals(Map.of(":v1", s("Ada")), update.expressionAttributeValues());
+    }
+
+    @Test
+    void testLeavesAttributesMaintainedElsewhere() {
+        var update = ItemUpdates.ownAttributes("customers", "id",
+            Map.of("id", s("c1"), "bookingIds", AttributeValue.builder().ss("b1").build()),
+            ATTRIBUTES, Set.of("bookingIds"));
+
+        assertEquals("REMOVE #a1, #a2", update.updateExpression());
+        assertFalse(update.expressionAttributeNames().containsValue("bookingIds"));
+        assertFalse(update.hasExpressionAttributeValues());
+    }
+}
@@ -0,0 +1,32 @@
+package com.johnnyb.service;
+
+import com.johnnyb.model.Money;
+import com.johnnyb.model.Room;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricingTest {
+
+    @Test
+    void testQuoteForSeveralRooms() {
+        var rooms = List.of(
+            Room.builder().id("r1").pricePerNight(new BigDecimal("120.00")).build(),
+            Room.builder().id("r2").pricePerNight(new BigDecimal("199.99")).build());
+        var nights = Pricing.nights(LocalDate.of(2025, 3, 14), LocalDate.of(2025, 3, 17));
+
+        assertEquals(3, nights);
+        assertEquals(new BigDecimal("959.97"), Money.toBigDecimal(Pricing.stay(rooms, nights)));
+    }
+
+    @Test
+    void testInvalidStaysAreRejected() {
+        var day = LocalDate.of(2025, 3, 14);
+        assertThrows(IllegalArgumentException.class, () -> Pricing.nights(day, day));
+        assertThrows(IllegalArgumentException.class, () -> Pricing.stay(Room.builder().id("r1").build(), 2));
+    }
+}
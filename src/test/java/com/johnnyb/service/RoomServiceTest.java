@@ -1,11 +1,15 @@
 package com.johnnyb.service;
 
+import com.johnnyb.model.Booking;
+import com.johnnyb.model.Customer;
+import com.johnnyb.model.Hotel;
 import com.johnnyb.model.Room;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -19,6 +23,15 @@ class RoomServiceTest {
     @Inject
     IRoomService roomService;
 
+    @Inject
+    IHotelService hotelService;
+
+    @Inject
+    ICustomerService customerService;
+
+    @Inject
+    IBookingService bookingService;
+
     @Test
     void testSaveAndFindById() {
         var id = UUID.randomUUID().toString();
@@ -47,6 +60,52 @@ class RoomServiceTest {
         roomService.delete(id);
     }
 
+    @Test
+    void testSaveKeepsBookingIds() {
+        var id = UUID.randomUUID().toString();
+        var room = Room.builder().id(id).roomNumber("998").roomType("Standard").build();
+        roomService.save(room);
+        var customer = customerService.save(Customer.builder().id(UUID.randomUUID().toString()).build());
+        var checkIn = LocalDate.now().plusDays(60);
+        var booking = Booking.builder()
+            .id(UUID.randomUUID().toString())
+            .roomId(id)
+            .customerId(customer.getId())
+            .checkInDate(checkIn)
+            .checkOutDate(checkIn.plusDays(1))
+            .numberOfGuests(1)
+            .status(Booking.BookingStatus.CONFIRMED)
+            .build();
+        bookingService.create(booking);
+
+        room.setDescription("Refurbished");
+        roomService.save(room);
+
+        var found = roomService.findById(id);
+        assertTrue(found.isPresent());
+        assertEquals("Refurbished", found.get().getDescription());
+        assertEquals(List.of(booking.getId()), found.get().getBookingIds());
+
+        // Cleanup
+        bookingService.delete(booking.getId());
+        roomService.delete(id);
+        customerService.delete(customer.getId());
+    }
+
+    @Test
+    void testFindByIdsReturnsEachRoomOnce() {
+        var id = UUID.randomUUID().toString();
+        roomService.save(Room.builder().id(id).roomNumber("997").roomType("Standard").build());
+
+        // Not cached after the save
+        assertEquals(1, roomService.findByIds(List.of(id, id)).size());
+        // Cached by the batch read above
+        assertEquals(1, roomService.findByIds(List.of(id, id)).size());
+
+        // Cleanup
+        roomService.delete(id);
+    }
+
     @Test
     void testFindByHotelId() {
         var hotelId = UUID.randomUUID().toString();
@@ -115,4 +174,30 @@ class RoomServiceTest {
         roomService.delete(id);
         assertFalse(roomService.findById(id).isPresent());
     }
+
+    @Test
+    void testSaveAndDeleteKeepHotelRoomIds() {
+        var hotel = hotelService.save(Hotel.builder().id(UUID.randomUUID().toString()).name("Sync Test").build());
+        var other = hotelService.save(Hotel.builder().id(UUID.randomUUID().toString()).name("Sync Test 2").build());
+        var room = Room.builder()
+            .id(UUID.randomUUID().toString())
+            .hotelId(hotel.getId())
+            .roomNumber("101")
+            .build();
+
+        roomService.save(room);
+        assertEquals(List.of(room.getId()), hotelService.findById(hotel.getId()).get().getRoomIds());
+
+        room.setHotelId(other.getId());
+        roomService.save(room);
+        assertNull(hotelService.findById(hotel.getId()).get().getRoomIds());
+        assertEquals(List.of(room.getId()), hotelService.findById(other.getId()).get().getRoomIds());
+
+        roomService.delete(room.getId());
+        assertNull(hotelService.findById(other.getId()).get().getRoomIds());
+
+        // Cleanup
+        hotelService.delete(hotel.getId());
+        hotelService.delete(other.getId());
+    }
 }
@@ -0,0 +1,64 @@
+package com.johnnyb.telemetry;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamoDbTracingInterceptorTest {
+
+    private static final Map<String, AttributeValue> ITEM = Map.of("id", AttributeValue.fromS("1"));
+
+    @Test
+    void testTableNamesForSingleAndMultiTableRequests() {
+        assertEquals("hotels", DynamoDbTracingInterceptor.tableNames(GetItemRequest.builder()
+            .tableName("hotels").key(ITEM).build()));
+        assertEquals("customers,rooms", DynamoDbTracingInterceptor.tableNames(BatchGetItemRequest.builder()
+            .requestItems(Map.of(
+                "rooms", KeysAndAttributes.builder().keys(ITEM).build(),
+                "customers", KeysAndAttributes.builder().keys(ITEM).build()))
+            .build()));
+        assertEquals("bookings,rooms", DynamoDbTracingInterceptor.tableNames(TransactWriteItemsRequest.builder()
+            .transactItems(
+                TransactWriteItem.builder().put(Put.builder().tableName("bookings").item(ITEM).build()).build(),
+                TransactWriteItem.builder().update(Update.builder().tableName("rooms").key(ITEM).build()).build())
+            .build()));
+    }
+
+    @Test
+    void testItemCount() {
+        assertEquals(7, DynamoDbTracingInterceptor.itemCount(ScanResponse.builder().count(7).build()));
+        assertEquals(1, DynamoDbTracingInterceptor.itemCount(GetItemResponse.builder().item(ITEM).build()));
+        assertEquals(0, DynamoDbTracingInterceptor.itemCount(GetItemResponse.builder().build()));
+        assertEquals(3, DynamoDbTracingInterceptor.itemCount(BatchGetItemResponse.builder()
+            .responses(Map.of("rooms", List.of(ITEM, ITEM), "customers", List.of(ITEM)))
+            .build()));
+    }
+
+    @Test
+    void testConsumedCapacity() {
+        var single = ConsumedCapacity.builder().tableName("hotels").capacityUnits(0.5).build();
+        assertEquals(List.of(single), DynamoDbTracingInterceptor.consumedCapacity(
+            GetItemResponse.builder().consumedCapacity(single).build()));
+
+        var rooms = ConsumedCapacity.builder().tableName("rooms").capacityUnits(1.0).build();
+        assertEquals(List.of(single, rooms), DynamoDbTracingInterceptor.consumedCapacity(
+            BatchGetItemResponse.builder().consumedCapacity(single, rooms).build()));
+
+        assertTrue(DynamoDbTracingInterceptor.consumedCapacity(ScanResponse.builder().build()).isEmpty());
+    }
+}
@@ -0,0 +1,111 @@
+package com.johnnyb.telemetry;
+
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceRetentionProcessorTest {
+
+    private final List<SpanData> exported = new CopyOnWriteArrayList<>();
+    private SdkTracerProvider provider;
+
+    private SpanExporter exporter() {
+        return new SpanExporter() {
+            @Override
+            public CompletableResultCode export(Collection<SpanData> spans) {
+                exported.addAll(spans);
+                return CompletableResultCode.ofSuccess();
+            }
+
+            @Override
+            public CompletableResultCode flush() {
+                return CompletableResultCode.ofSuccess();
+            }
+
+            @Override
+            public CompletableResultCode shutdown() {
+                return CompletableResultCode.ofSuccess();
+            }
+        };
+    }
+
+    private TraceRetentionProcessor start(double ratio, long slowThresholdMillis) {
+        var export = SimpleSpanProcessor.create(exporter());
+        var retention = new TraceRetentionProcessor(slowThresholdMillis, 100, 10, () -> List.<SpanProcessor>of(export));
+        provider = SdkTracerProvider.builder()
+            .setSampler(new RetainingSampler(ratio, true))
+            .addSpanProcessor(export)
+            .addSpanProcessor(retention)
+            .build();
+        return retention;
+    }
+
+    private void trace(boolean fail) {
+        var tracer = provider.get("test");
+        var root = tracer.spanBuilder("root").startSpan();
+        try (var scope = root.makeCurrent()) {
+            var child = tracer.spanBuilder("child").startSpan();
+            if (fail) {
+                child.setStatus(StatusCode.ERROR);
+            }
+            child.end();
+        } finally {
+            root.end();
+        }
+    }
+
+    @AfterEach
+    void shutdown() {
+        provider.shutdown();
+    }
+
+    @Test
+    void testUnsampledHealthyTracesAreDiscarded() {
+        var retention = start(0.0, 60_000);
+        trace(false);
+
+        assertTrue(exported.isEmpty());
+        assertEquals(1, retention.getDiscardedCount());
+    }
+
+    @Test
+    void testFailedTracesAreExportedAsSampled() {
+        var retention = start(0.0, 60_000);
+        trace(true);
+
+        assertEquals(2, exported.size());
+        assertTrue(exported.stream().allMatch(span -> span.getSpanContext().isSampled()));
+        assertEquals(exported.get(0).getTraceId(), exported.get(1).getTraceId());
+        assertEquals(1, retention.getRetainedCount());
+    }
+
+    @Test
+    void testSlowTracesAreExported() {
+        var retention = start(0.0, 0);
+        trace(false);
+
+        assertEquals(2, exported.size());
+        assertEquals(1, retention.getRetainedCount());
+    }
+
+    @Test
+    void testSampledTracesBypassRetention() {
+        var retention = start(1.0, 60_000);
+        trace(false);
+
+        assertEquals(2, exported.size());
+        assertEquals(0, retention.getRetainedCount() + retention.getDiscardedCount());
+    }
+}